@@ -0,0 +1,222 @@
+package graphapi;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Shortest or longest paths in an edge weighted directed acyclic graph.
+ *
+ * Arcs are relaxed once, in topological order, so the whole computation is
+ * O(V + A) and arc weights may be negative. Longest paths are the critical
+ * paths of a dependency graph.
+ */
+public class AcyclicSP {
+  public static enum Objective {
+    SHORTEST,
+    LONGEST
+  }
+
+  private EdgeWeightedDiGraph g;
+  private Objective objective;
+  private Condition condition;
+  private double[] distTo;
+  private WeightedArc[] edgeTo;
+
+  /**
+   * Shortest paths from vertex u.
+   *
+   * @param g Edge weighted directed acyclic graph
+   * @param u Source vertex
+   * @throws IllegalArgumentException if u is not present in the graph or if
+   *                                  the graph has a cycle
+   */
+  public AcyclicSP(EdgeWeightedDiGraph g, int u) {
+    this(g, u, Objective.SHORTEST, null);
+  }
+
+  /**
+   * Shortest or longest paths from vertex u.
+   *
+   * @param g         Edge weighted directed acyclic graph
+   * @param u         Source vertex
+   * @param objective Whether to find shortest or longest paths
+   * @throws IllegalArgumentException if u is not present in the graph or if
+   *                                  the graph has a cycle
+   */
+  public AcyclicSP(EdgeWeightedDiGraph g, int u, Objective objective) {
+    this(g, u, objective, null);
+  }
+
+  /**
+   * Shortest or longest paths from vertex u using only arcs that satisfy the
+   * condition.
+   *
+   * @param g         Edge weighted directed acyclic graph
+   * @param u         Source vertex
+   * @param objective Whether to find shortest or longest paths
+   * @param condition Condition an arc has to satisfy, or null for all arcs
+   * @throws IllegalArgumentException if u is not present in the graph or if
+   *                                  the graph has a cycle
+   */
+  public AcyclicSP(EdgeWeightedDiGraph g, int u, Objective objective, Condition condition) {
+    this(g, u, topologicalOrder(g), objective, condition);
+  }
+
+  /**
+   * Shortest or longest paths ending in every vertex, starting anywhere. With
+   * {@link Objective#LONGEST} this gives the critical path into each vertex.
+   *
+   * @param g         Edge weighted directed acyclic graph
+   * @param objective Whether to find shortest or longest paths
+   * @throws IllegalArgumentException if the graph has a cycle
+   */
+  public AcyclicSP(EdgeWeightedDiGraph g, Objective objective) {
+    this(g, -1, topologicalOrder(g), objective, null);
+  }
+
+  AcyclicSP(EdgeWeightedDiGraph g, int u, int[] order, Objective objective, Condition condition) {
+    if (order == null) {
+      throw new IllegalArgumentException("graph has a cycle");
+    }
+
+    this.g = g;
+    this.objective = objective;
+    this.condition = condition;
+    distTo = new double[g.V()];
+    edgeTo = new WeightedArc[g.V()];
+
+    if (u == -1) {
+      for (int v = 0; v < distTo.length; v++) {
+        distTo[v] = 0.0;
+      }
+    } else {
+      validateVertex(u);
+      double unreached = objective == Objective.SHORTEST ? Double.POSITIVE_INFINITY : Double.NEGATIVE_INFINITY;
+      for (int v = 0; v < distTo.length; v++) {
+        distTo[v] = unreached;
+      }
+      distTo[u] = 0.0;
+    }
+
+    for (int v : order) {
+      if (Double.isInfinite(distTo[v])) {
+        continue;
+      }
+
+      for (WeightedArc a : g.adj(v)) {
+        relax(a);
+      }
+    }
+  }
+
+  /**
+   * Topological order of the vertices, found with Kahn's algorithm.
+   *
+   * @param g Edge weighted directed graph
+   * @return Vertices in topological order, or null if the graph has a cycle
+   * @throws IllegalArgumentException if g is null
+   */
+  public static int[] topologicalOrder(EdgeWeightedDiGraph g) {
+    if (g == null) {
+      throw new IllegalArgumentException("Graph cannot be null");
+    }
+
+    int n = g.V();
+    int[] indegree = new int[n];
+
+    for (int v = 0; v < n; v++) {
+      for (WeightedArc a : g.adj(v)) {
+        indegree[a.to()]++;
+      }
+    }
+
+    int[] order = new int[n];
+    int head = 0, tail = 0;
+
+    for (int v = 0; v < n; v++) {
+      if (indegree[v] == 0) {
+        order[tail++] = v;
+      }
+    }
+
+    while (head < tail) {
+      int v = order[head++];
+      for (WeightedArc a : g.adj(v)) {
+        if (--indegree[a.to()] == 0) {
+          order[tail++] = a.to();
+        }
+      }
+    }
+
+    return tail == n ? order : null;
+  }
+
+  private void relax(WeightedArc a) {
+    int v = a.from();
+    int w = a.to();
+    double d = distTo[v] + a.weight();
+    boolean better = objective == Objective.SHORTEST ? d < distTo[w] : d > distTo[w];
+
+    if (better && (condition != null ? condition.condition(a) : true)) {
+      distTo[w] = d;
+      edgeTo[w] = a;
+    }
+  }
+
+  private void validateVertex(int v) {
+    if (v < 0 || v >= g.V()) {
+      throw new IllegalArgumentException("vertex is not in graph");
+    }
+  }
+
+  /**
+   * Length of the best path to v.
+   *
+   * @param v Vertex
+   * @return Distance, or an infinity if v is not reachable
+   * @throws IllegalArgumentException if v is not present in the graph
+   */
+  public double distTo(int v) {
+    validateVertex(v);
+    return distTo[v];
+  }
+
+  /**
+   * Check if there is a path to v.
+   *
+   * @param v Vertex
+   * @return True if v is reachable, false otherwise
+   * @throws IllegalArgumentException if v is not present in the graph
+   */
+  public boolean hasPathTo(int v) {
+    validateVertex(v);
+    return !Double.isInfinite(distTo[v]);
+  }
+
+  /**
+   * Arcs on the best path to v, in order from the start of the path.
+   *
+   * @param v Vertex
+   * @return Iterable of arcs, or null if v is not reachable
+   * @throws IllegalArgumentException if v is not present in the graph
+   */
+  public Iterable<WeightedArc> pathTo(int v) {
+    if (!hasPathTo(v)) {
+      return null;
+    }
+
+    List<WeightedArc> p = new ArrayList<>();
+    while (edgeTo[v] != null) {
+      p.add(edgeTo[v]);
+      v = edgeTo[v].from();
+    }
+
+    Collections.reverse(p);
+    return p;
+  }
+
+  WeightedArc edgeTo(int v) {
+    return edgeTo[v];
+  }
+}
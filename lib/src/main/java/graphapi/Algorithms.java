@@ -9,16 +9,51 @@ public class Algorithms {
    * @throws IllegalArgumentException if {@code g} is {@code null}
    */
   public static int[] kCoreDecompose(Graph g) {
+    return peel(g)[0];
+  }
+
+  /**
+   * Degeneracy ordering of a graph: the order in which Batagelj and
+   * Zaversnik's algorithm peels the vertices. Core numbers never decrease
+   * along it, and every vertex has at most as many neighbours after it as the
+   * degeneracy of the graph.
+   *
+   * @param g the graph
+   * @return the vertices in peeling order
+   * @throws IllegalArgumentException if {@code g} is {@code null}
+   */
+  public static int[] degeneracyOrder(Graph g) {
+    return peel(g)[1];
+  }
+
+  /**
+   * Run Batagelj and Zaversnik's algorithm.
+   *
+   * @param g the graph
+   * @return the shell indices and the peeling order of the vertices
+   * @throws IllegalArgumentException if {@code g} is {@code null}
+   */
+  static int[][] peel(Graph g) {
     if (g == null) {
       throw new IllegalArgumentException("Graph cannot be null");
     }
 
+    return peel(CSR.of(g));
+  }
+
+  /**
+   * Run Batagelj and Zaversnik's algorithm on adjacency arrays.
+   *
+   * @param g the adjacency arrays of an undirected graph
+   * @return the shell indices and the peeling order of the vertices
+   */
+  static int[][] peel(CSR g) {
     int n = g.V();
     int md = 0;
     int[] deg = new int[n];
 
     for (int v = 0; v < n; v++) {
-      deg[v] = g.degree(v);
+      deg[v] = g.offsets[v + 1] - g.offsets[v];
       if (deg[v] > md) {
         md = deg[v];
       }
@@ -49,7 +84,8 @@ public class Algorithms {
     bin[0] = 0;
     for (int i = 0; i < n; i++) {
       int v = vert[i];
-      for (int u : g.adj(v)) {
+      for (int j = g.offsets[v]; j < g.offsets[v + 1]; j++) {
+        int u = g.targets[j];
         if (deg[u] > deg[v]) {
           int du = deg[u];
           int pu = pos[u];
@@ -67,6 +103,19 @@ public class Algorithms {
       }
     }
 
-    return deg;
+    return new int[][] { deg, vert };
+  }
+
+  /**
+   * Parallel k-core decomposition by level-synchronous peeling on the common
+   * pool.
+   *
+   * @param g the graph
+   * @return the array of shell indices of the vertices, equal to
+   *         {@link #kCoreDecompose(Graph)}
+   * @throws IllegalArgumentException if {@code g} is {@code null}
+   */
+  public static int[] parallelKCoreDecompose(Graph g) {
+    return ParallelKCore.decompose(g);
   }
 }
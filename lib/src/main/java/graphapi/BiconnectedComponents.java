@@ -0,0 +1,292 @@
+package graphapi;
+
+import java.util.Arrays;
+
+/**
+ * Biconnected components, articulation points and bridges of an undirected
+ * graph (Hopcroft and Tarjan).
+ *
+ * One iterative depth-first search with an explicit stack of arcs finds all
+ * three in O(V + E). Whenever a child's low point does not climb above its
+ * parent, the arcs stacked since the tree edge to that child form one block.
+ * A block with a single edge is a bridge; the vertices of every other block lie
+ * on a cycle. Self-loops belong to no block and do not count as cycles. Block
+ * ids are kept per arc, aligned with the adjacency arrays.
+ */
+public class BiconnectedComponents {
+  private final CSR g;
+  private final int[] blockOf;
+  private final boolean[] articulation;
+  private final boolean[] onCycle;
+  private int[] bridges;
+  private int[] blockSize;
+  private int blocks;
+
+  /**
+   * Find the biconnected components of a graph.
+   *
+   * @param g Graph
+   * @throws IllegalArgumentException if g is null
+   */
+  public BiconnectedComponents(Graph g) {
+    this(CSR.of(g));
+  }
+
+  /**
+   * Find the biconnected components of a graph given by its adjacency arrays.
+   *
+   * @param g Adjacency arrays of an undirected graph
+   * @throws IllegalArgumentException if g is null
+   */
+  public BiconnectedComponents(CSR g) {
+    if (g == null) {
+      throw new IllegalArgumentException("Graph cannot be null");
+    }
+
+    this.g = g;
+    int n = g.V();
+    blockOf = new int[g.entries()];
+    articulation = new boolean[n];
+    onCycle = new boolean[n];
+    Arrays.fill(blockOf, -1);
+    search();
+  }
+
+  private void search() {
+    int n = g.V();
+    int[] offsets = g.offsets;
+    int[] targets = g.targets;
+    int[] disc = new int[n];
+    int[] low = new int[n];
+    int[] parent = new int[n];
+    int[] cursor = new int[n];
+    int[] call = new int[n];
+    int[] arcs = new int[g.entries()];
+    int[] tails = new int[g.entries()];
+    int[] found = new int[16];
+    blockSize = new int[16];
+    int bridgeCount = 0;
+    int clock = 1, sp = 0;
+
+    for (int s = 0; s < n; s++) {
+      if (disc[s] != 0) {
+        continue;
+      }
+
+      int top = 0;
+      int rootChildren = 0;
+      disc[s] = low[s] = clock++;
+      parent[s] = -1;
+      cursor[s] = offsets[s];
+      call[top++] = s;
+
+      while (top > 0) {
+        int v = call[top - 1];
+
+        if (cursor[v] < offsets[v + 1]) {
+          int i = cursor[v]++;
+          int w = targets[i];
+
+          if (w == v || w == parent[v]) {
+            continue;
+          }
+
+          if (disc[w] == 0) {
+            tails[sp] = v;
+            arcs[sp++] = i;
+            disc[w] = low[w] = clock++;
+            parent[w] = v;
+            cursor[w] = offsets[w];
+            call[top++] = w;
+            if (v == s) {
+              rootChildren++;
+            }
+          } else if (disc[w] < disc[v]) {
+            tails[sp] = v;
+            arcs[sp++] = i;
+            low[v] = Math.min(low[v], disc[w]);
+          }
+          continue;
+        }
+
+        top--;
+        int p = parent[v];
+        if (p == -1) {
+          continue;
+        }
+
+        low[p] = Math.min(low[p], low[v]);
+        if (low[v] < disc[p]) {
+          continue;
+        }
+
+        if (p != s || rootChildren > 1) {
+          articulation[p] = true;
+        }
+
+        // Pop the block down to and including the tree arc p->v.
+        int size = 0;
+        int arc;
+        do {
+          arc = arcs[--sp];
+          blockOf[arc] = blocks;
+          blockOf[twin(targets[arc], tails[sp])] = blocks;
+          size++;
+        } while (targets[arc] != v || tails[sp] != p);
+
+        if (size == 1) {
+          if (2 * bridgeCount + 2 > found.length) {
+            found = Arrays.copyOf(found, 2 * found.length);
+          }
+          found[2 * bridgeCount] = Math.min(p, v);
+          found[2 * bridgeCount + 1] = Math.max(p, v);
+          bridgeCount++;
+        } else {
+          for (int k = sp; k < sp + size; k++) {
+            onCycle[tails[k]] = true;
+            onCycle[targets[arcs[k]]] = true;
+          }
+        }
+
+        if (blocks == blockSize.length) {
+          blockSize = Arrays.copyOf(blockSize, 2 * blocks);
+        }
+        blockSize[blocks++] = size;
+      }
+    }
+
+    bridges = Arrays.copyOf(found, 2 * bridgeCount);
+  }
+
+  /**
+   * Position of the arc v->w in the adjacency arrays.
+   */
+  private int twin(int v, int w) {
+    return Arrays.binarySearch(g.targets, g.offsets[v], g.offsets[v + 1], w);
+  }
+
+  private void validateVertex(int v) {
+    if (v < 0 || v >= onCycle.length) {
+      throw new IllegalArgumentException("Vertex must be present in graph");
+    }
+  }
+
+  /**
+   * Number of blocks, bridges included.
+   *
+   * @return Number of blocks
+   */
+  public int count() {
+    return blocks;
+  }
+
+  /**
+   * Number of edges in a block.
+   *
+   * @param id Block id
+   * @return Number of edges in the block
+   * @throws IllegalArgumentException if the block does not exist
+   */
+  public int size(int id) {
+    if (id < 0 || id >= blocks) {
+      throw new IllegalArgumentException("Block does not exist");
+    }
+
+    return blockSize[id];
+  }
+
+  /**
+   * Check if v lies on a cycle.
+   *
+   * @param v Vertex
+   * @return True if v lies on a cycle, false otherwise
+   * @throws IllegalArgumentException if v is not present in the graph
+   */
+  public boolean onCycle(int v) {
+    validateVertex(v);
+    return onCycle[v];
+  }
+
+  /**
+   * Check if removing v disconnects its component.
+   *
+   * @param v Vertex
+   * @return True if v is an articulation point, false otherwise
+   * @throws IllegalArgumentException if v is not present in the graph
+   */
+  public boolean isArticulation(int v) {
+    validateVertex(v);
+    return articulation[v];
+  }
+
+  /**
+   * Articulation points in increasing order.
+   *
+   * @return Articulation points
+   */
+  public int[] articulationPoints() {
+    int count = 0;
+    for (boolean a : articulation) {
+      if (a) {
+        count++;
+      }
+    }
+
+    int[] points = new int[count];
+    int k = 0;
+    for (int v = 0; v < articulation.length; v++) {
+      if (articulation[v]) {
+        points[k++] = v;
+      }
+    }
+    return points;
+  }
+
+  /**
+   * Block of the edge v-w.
+   *
+   * @param v Vertex
+   * @param w Vertex
+   * @return Block id, or -1 if there is no such edge or it is a self-loop
+   * @throws IllegalArgumentException if v or w is not present in the graph
+   */
+  public int block(int v, int w) {
+    validateVertex(v);
+    validateVertex(w);
+
+    int i = twin(v, w);
+    return i < 0 ? -1 : blockOf[i];
+  }
+
+  /**
+   * Block of every arc, aligned with the adjacency arrays the components were
+   * computed from.
+   *
+   * @return Copy of the block ids, -1 for self-loops
+   */
+  public int[] blocks() {
+    return blockOf.clone();
+  }
+
+  /**
+   * Check if removing the edge v-w disconnects its component.
+   *
+   * @param v Vertex
+   * @param w Vertex
+   * @return True if v-w is a bridge, false otherwise
+   * @throws IllegalArgumentException if v or w is not present in the graph
+   */
+  public boolean isBridge(int v, int w) {
+    int b = block(v, w);
+    return b != -1 && blockSize[b] == 1;
+  }
+
+  /**
+   * Bridges as consecutive pairs of endpoints, the smaller first.
+   *
+   * @return Endpoints of the bridges
+   */
+  public int[] bridges() {
+    return bridges.clone();
+  }
+}
@@ -0,0 +1,163 @@
+package graphapi;
+
+/**
+ * Point-to-point shortest paths in an unweighted graph by searching from both
+ * ends at once.
+ *
+ * Every step expands one full level of whichever side has the smaller
+ * frontier, and the search stops at the first vertex seen by both sides, which
+ * already lies on a shortest path. Visited marks are stamped with a query
+ * number so the arrays are cleared only when the graph grows, and a query
+ * touches only the vertices it reaches. Queries share these arrays, so one
+ * instance must not be queried from several threads at once.
+ */
+public class BidirectionalBFS {
+  private final Graph g;
+  private int[] seenFrom;
+  private int[] seenTo;
+  private int[] edgeFrom;
+  private int[] edgeTo;
+  private int[] frontier;
+  private int[] next;
+  private int query;
+
+  /**
+   * Prepare point-to-point searches on a graph.
+   *
+   * @param g Graph
+   * @throws IllegalArgumentException if g is null
+   */
+  public BidirectionalBFS(Graph g) {
+    if (g == null) {
+      throw new IllegalArgumentException("Graph cannot be null");
+    }
+
+    this.g = g;
+    allocate();
+  }
+
+  private void allocate() {
+    int n = g.V();
+    seenFrom = new int[n];
+    seenTo = new int[n];
+    edgeFrom = new int[n];
+    edgeTo = new int[n];
+    frontier = new int[2 * n];
+    next = new int[n];
+    query = 0;
+  }
+
+  /**
+   * Vertices on a shortest path from s to t, both ends included.
+   *
+   * @param s Source vertex
+   * @param t Target vertex
+   * @return Vertices of the path, or null if t is not reachable from s
+   * @throws IllegalArgumentException if s or t is not present in the graph
+   */
+  public int[] path(int s, int t) {
+    if (s < 0 || s >= g.V() || t < 0 || t >= g.V()) {
+      throw new IllegalArgumentException("Vertices must be present in graph");
+    }
+
+    if (s == t) {
+      return new int[] { s };
+    }
+
+    if (seenFrom.length != g.V() || query == Integer.MAX_VALUE) {
+      allocate();
+    }
+    query++;
+
+    seenFrom[s] = query;
+    seenTo[t] = query;
+    edgeFrom[s] = -1;
+    edgeTo[t] = -1;
+
+    // Both frontiers share one array: the source side from the front, the
+    // target side from the back.
+    int n = g.V();
+    int fromStart = 0, fromEnd = 1;
+    int toStart = 2 * n - 1, toEnd = 2 * n;
+    frontier[0] = s;
+    frontier[toStart] = t;
+
+    while (fromEnd > fromStart && toEnd > toStart) {
+      boolean forward = fromEnd - fromStart <= toEnd - toStart;
+      int[] seen = forward ? seenFrom : seenTo;
+      int[] other = forward ? seenTo : seenFrom;
+      int[] edge = forward ? edgeFrom : edgeTo;
+      int start = forward ? fromStart : toStart;
+      int end = forward ? fromEnd : toEnd;
+      int found = 0;
+
+      for (int i = start; i < end; i++) {
+        int v = frontier[i];
+        for (int w : g.adj(v)) {
+          if (seen[w] == query) {
+            continue;
+          }
+
+          seen[w] = query;
+          edge[w] = v;
+
+          if (other[w] == query) {
+            return join(w);
+          }
+
+          next[found++] = w;
+        }
+      }
+
+      if (forward) {
+        System.arraycopy(next, 0, frontier, 0, found);
+        fromStart = 0;
+        fromEnd = found;
+      } else {
+        System.arraycopy(next, 0, frontier, 2 * n - found, found);
+        toStart = 2 * n - found;
+        toEnd = 2 * n;
+      }
+    }
+
+    return null;
+  }
+
+  /**
+   * Number of edges on a shortest path from s to t.
+   *
+   * @param s Source vertex
+   * @param t Target vertex
+   * @return Distance, or -1 if t is not reachable from s
+   * @throws IllegalArgumentException if s or t is not present in the graph
+   */
+  public int distance(int s, int t) {
+    int[] p = path(s, t);
+    return p == null ? -1 : p.length - 1;
+  }
+
+  private int[] join(int meet) {
+    int before = 0;
+    for (int x = edgeFrom[meet]; x != -1; x = edgeFrom[x]) {
+      before++;
+    }
+
+    int after = 0;
+    for (int x = edgeTo[meet]; x != -1; x = edgeTo[x]) {
+      after++;
+    }
+
+    int[] p = new int[before + 1 + after];
+    int i = before;
+    for (int x = meet; x != -1; x = edgeFrom[x]) {
+      p[i--] = x;
+    }
+
+    i = before + 1;
+    for (int x = edgeTo[meet]; x != -1; x = edgeTo[x]) {
+      p[i++] = x;
+    }
+
+    return p;
+  }
+}
@@ -8,32 +8,27 @@ public class BipartiteGraph {
   }
 
   public boolean validateBipartite() {
-    Boolean[] colors = new Boolean[g.V()];
-
-    for (int v : g.vertices()) {
-      if (colors[v] == null) {
-        if (!dfs(v, false, colors)) {
-          return false;
-        }
-      }
-    }
-
-    return true;
+    return partition().isBipartite();
   }
 
-  private boolean dfs(int v, boolean color, Boolean[] colors) {
-    colors[v] = color;
-
-    for (int w : g.adj(v)) {
-      if (colors[v].equals(colors[w])) {
-        return false;
-      }
-
-      if (colors[w] == null) {
-        return dfs(w, !color, colors);
-      }
-    }
+  /**
+   * Two-colouring of the graph, or an odd cycle if there is none, computed
+   * once per version of the graph.
+   *
+   * @return Bipartition of the graph
+   */
+  public Bipartition partition() {
+    return g.bipartition();
+  }
 
-    return true;
+  /**
+   * Maximum matching of the graph.
+   *
+   * @return Maximum matching
+   * @throws IllegalArgumentException if the graph is not bipartite
+   */
+  public HopcroftKarp maximumMatching() {
+    Bipartition sides = partition();
+    return new HopcroftKarp(sides.graph(), sides);
   }
 }
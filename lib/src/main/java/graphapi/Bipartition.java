@@ -0,0 +1,342 @@
+package graphapi;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Two-colouring of an undirected graph, or an odd cycle proving there is none.
+ *
+ * Every component is searched breadth-first from its smallest vertex and a
+ * vertex gets the side given by the parity of its distance, so the sides do not
+ * depend on how the search was run. An edge between two vertices on the same
+ * side closes an odd cycle: both ends lie on the same level, and their tree
+ * paths up to the lowest common ancestor plus the edge itself are the witness.
+ *
+ * On large graphs the components are found in parallel and all of them are
+ * then searched at once, level by level, starting from a frontier holding the
+ * smallest vertex of each. Vertices are claimed with a compare-and-set on
+ * their parent, and a final parallel pass over the edges looks for a conflict.
+ */
+public class Bipartition {
+  private static final int PARALLEL_THRESHOLD = 1 << 16;
+  private static final int MIN_CHUNK = 256;
+
+  private final CSR g;
+  private final byte[] side;
+  private final int[] parent;
+  private int[] oddCycle;
+
+  /**
+   * Colour a graph, in parallel on the common pool if it is large and the
+   * pool has more than one worker.
+   *
+   * @param g Graph
+   * @throws IllegalArgumentException if g is null
+   */
+  public Bipartition(Graph g) {
+    this(CSR.of(g));
+  }
+
+  /**
+   * Colour a graph given by its adjacency arrays, in parallel on the common
+   * pool if it is large and the pool has more than one worker.
+   *
+   * @param g Adjacency arrays of an undirected graph
+   * @throws IllegalArgumentException if g is null
+   */
+  public Bipartition(CSR g) {
+    this(g, parallel(g) ? ForkJoinPool.commonPool() : null);
+  }
+
+  /**
+   * Colour a graph given by its adjacency arrays.
+   *
+   * @param g    Adjacency arrays of an undirected graph
+   * @param pool Pool to run on, or null to colour sequentially
+   * @throws IllegalArgumentException if g is null
+   */
+  public Bipartition(CSR g, ForkJoinPool pool) {
+    if (g == null) {
+      throw new IllegalArgumentException("Graph cannot be null");
+    }
+
+    this.g = g;
+    side = new byte[g.V()];
+    parent = new int[g.V()];
+    if (pool == null) {
+      colour();
+    } else {
+      colour(pool);
+    }
+  }
+
+  private static boolean parallel(CSR g) {
+    return g != null && g.V() >= PARALLEL_THRESHOLD && ForkJoinPool.getCommonPoolParallelism() > 1;
+  }
+
+  private void colour() {
+    int n = g.V();
+    int[] offsets = g.offsets;
+    int[] targets = g.targets;
+    int[] queue = new int[n];
+    Arrays.fill(parent, -1);
+
+    for (int s = 0; s < n; s++) {
+      if (parent[s] != -1) {
+        continue;
+      }
+
+      int head = 0, tail = 0;
+      parent[s] = s;
+      queue[tail++] = s;
+
+      while (head < tail) {
+        int v = queue[head++];
+        for (int i = offsets[v]; i < offsets[v + 1]; i++) {
+          int w = targets[i];
+          if (parent[w] == -1) {
+            parent[w] = v;
+            side[w] = (byte) (side[v] ^ 1);
+            queue[tail++] = w;
+          } else if (side[w] == side[v]) {
+            oddCycle = witness(v, w);
+            return;
+          }
+        }
+      }
+    }
+  }
+
+  private void colour(ForkJoinPool pool) {
+    int n = g.V();
+    int[] offsets = g.offsets;
+    int[] targets = g.targets;
+    int[] componentOf = ParallelConnectedComponents.find(g, null, pool).componentOf();
+
+    int count = 0;
+    for (int v = 0; v < n; v++) {
+      if (componentOf[v] == count) {
+        count++;
+      }
+    }
+
+    int[] roots = new int[count];
+    count = 0;
+    for (int v = 0; v < n; v++) {
+      if (componentOf[v] == count) {
+        roots[count++] = v;
+      }
+    }
+
+    AtomicIntegerArray claimed = new AtomicIntegerArray(n);
+    for (int v = 0; v < n; v++) {
+      claimed.lazySet(v, -1);
+    }
+    for (int s : roots) {
+      claimed.set(s, s);
+    }
+
+    int[] frontier = roots;
+    int size = roots.length;
+    int[] scratch = new int[MIN_CHUNK];
+    while (size > 0) {
+      if (size < MIN_CHUNK) {
+        // Narrow levels, as in long paths, are cheaper to expand in place.
+        int next = 0;
+        for (int p = 0; p < size; p++) {
+          int v = frontier[p];
+          for (int i = offsets[v]; i < offsets[v + 1]; i++) {
+            int w = targets[i];
+            if (claimed.get(w) == -1) {
+              claimed.set(w, v);
+              side[w] = (byte) (side[v] ^ 1);
+              if (next == scratch.length) {
+                scratch = Arrays.copyOf(scratch, Math.max(MIN_CHUNK, 2 * next));
+              }
+              scratch[next++] = w;
+            }
+          }
+        }
+        int[] swap = frontier;
+        frontier = scratch;
+        scratch = swap;
+        size = next;
+        continue;
+      }
+
+      int[] current = frontier;
+      int length = size;
+      frontier = Parallel.gather(pool, length, MIN_CHUNK, (p, out) -> {
+        int v = current[p];
+        for (int i = offsets[v]; i < offsets[v + 1]; i++) {
+          int w = targets[i];
+          if (claimed.get(w) == -1 && claimed.compareAndSet(w, -1, v)) {
+            side[w] = (byte) (side[v] ^ 1);
+            out.add(w);
+          }
+        }
+      });
+      size = frontier.length;
+    }
+
+    AtomicLong conflict = new AtomicLong(-1);
+    Parallel.forRange(pool, 0, n, Parallel.grain(pool, n, MIN_CHUNK), (from, to) -> {
+      for (int v = from; v < to; v++) {
+        parent[v] = claimed.get(v);
+        if (conflict.get() != -1) {
+          continue;
+        }
+        for (int i = offsets[v]; i < offsets[v + 1]; i++) {
+          if (side[targets[i]] == side[v]) {
+            conflict.compareAndSet(-1, (long) v << 32 | targets[i]);
+            break;
+          }
+        }
+      }
+    });
+
+    long edge = conflict.get();
+    if (edge != -1) {
+      oddCycle = witness((int) (edge >>> 32), (int) edge);
+    }
+  }
+
+  /**
+   * Odd cycle closed by the edge v-w between two vertices of the same level:
+   * the tree path from v up to the lowest common ancestor, then down to w.
+   */
+  private int[] witness(int v, int w) {
+    int depth = 0;
+    for (int a = v, b = w; a != b; a = parent[a], b = parent[b]) {
+      depth++;
+    }
+
+    int[] cycle = new int[2 * depth + 1];
+    int a = v, b = w;
+    for (int k = 0; k < depth; k++) {
+      cycle[k] = a;
+      cycle[cycle.length - 1 - k] = b;
+      a = parent[a];
+      b = parent[b];
+    }
+    cycle[depth] = a;
+    return cycle;
+  }
+
+  private void validateVertex(int v) {
+    if (v < 0 || v >= side.length) {
+      throw new IllegalArgumentException("Vertex must be present in graph");
+    }
+  }
+
+  private void requireBipartite() {
+    if (oddCycle != null) {
+      throw new IllegalStateException("Graph is not bipartite");
+    }
+  }
+
+  /**
+   * Adjacency arrays of the coloured graph.
+   *
+   * @return Adjacency arrays of the graph
+   */
+  CSR graph() {
+    return g;
+  }
+
+  /**
+   * Number of vertices.
+   *
+   * @return Number of vertices
+   */
+  public int V() {
+    return side.length;
+  }
+
+  /**
+   * Check if the graph is bipartite.
+   *
+   * @return True if the graph has no odd cycle, false otherwise
+   */
+  public boolean isBipartite() {
+    return oddCycle == null;
+  }
+
+  /**
+   * Side of vertex v, 0 for the side holding the smallest vertex of its
+   * component.
+   *
+   * @param v Vertex
+   * @return 0 or 1
+   * @throws IllegalArgumentException if v is not present in the graph
+   * @throws IllegalStateException    if the graph is not bipartite
+   */
+  public int side(int v) {
+    validateVertex(v);
+    requireBipartite();
+    return side[v];
+  }
+
+  /**
+   * Sides of all vertices.
+   *
+   * @return Copy of the sides
+   * @throws IllegalStateException if the graph is not bipartite
+   */
+  public byte[] sides() {
+    requireBipartite();
+    return side.clone();
+  }
+
+  /**
+   * Vertices on side 0 in increasing order.
+   *
+   * @return Vertices on side 0
+   * @throws IllegalStateException if the graph is not bipartite
+   */
+  public int[] left() {
+    return vertices(0);
+  }
+
+  /**
+   * Vertices on side 1 in increasing order.
+   *
+   * @return Vertices on side 1
+   * @throws IllegalStateException if the graph is not bipartite
+   */
+  public int[] right() {
+    return vertices(1);
+  }
+
+  private int[] vertices(int s) {
+    requireBipartite();
+
+    int count = 0;
+    for (byte b : side) {
+      if (b == s) {
+        count++;
+      }
+    }
+
+    int[] found = new int[count];
+    int k = 0;
+    for (int v = 0; v < side.length; v++) {
+      if (side[v] == s) {
+        found[k++] = v;
+      }
+    }
+    return found;
+  }
+
+  /**
+   * An odd cycle of the graph, consecutive vertices being adjacent and the last
+   * adjacent to the first. A self-loop is a cycle of one vertex.
+   *
+   * @return Copy of the cycle, or null if the graph is bipartite
+   */
+  public int[] oddCycle() {
+    return oddCycle == null ? null : oddCycle.clone();
+  }
+}
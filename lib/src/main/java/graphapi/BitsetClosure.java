@@ -0,0 +1,106 @@
+package graphapi;
+
+/**
+ * Transitive closure stored as one bit row per strongly connected component.
+ *
+ * The graph is condensed first, so vertices of a component share a row.
+ * Component ids follow reverse topological order, so every successor of a
+ * component has a smaller id and its row is complete by the time it is OR-ed
+ * in, 64 components per word. A component only reaches components with an id
+ * no larger than its own, so row k holds just k + 1 bits and the whole index
+ * takes about C^2/16 bytes for C components. Queries are O(1).
+ */
+public class BitsetClosure implements Reachability {
+  private final int[] componentOf;
+  private final long[][] rows;
+
+  /**
+   * Build the closure of a directed graph.
+   *
+   * @param g Directed graph
+   * @throws IllegalArgumentException if g is null
+   */
+  public BitsetClosure(DiGraph g) {
+    this(new StrongComponents(g));
+  }
+
+  /**
+   * Build the closure of a directed graph from its strongly connected
+   * components.
+   *
+   * @param scc Strongly connected components of the graph
+   * @throws IllegalArgumentException if scc is null or its ids are not in
+   *                                  reverse topological order
+   */
+  public BitsetClosure(StrongComponents scc) {
+    if (scc == null) {
+      throw new IllegalArgumentException("Components cannot be null");
+    }
+
+    componentOf = scc.componentOf();
+    CSR dag = scc.condensationArrays();
+    StrongComponents.validateOrder(dag);
+    int c = dag.V();
+    rows = new long[c][];
+
+    for (int k = 0; k < c; k++) {
+      long[] row = new long[(k >>> 6) + 1];
+      row[k >>> 6] |= 1L << k;
+
+      // Successors with larger ids reach more, so visiting them first lets
+      // the rest be skipped when they are already covered.
+      for (int i = dag.offsets[k + 1] - 1; i >= dag.offsets[k]; i--) {
+        int t = dag.targets[i];
+        if ((row[t >>> 6] & (1L << t)) != 0) {
+          continue;
+        }
+
+        long[] sub = rows[t];
+        for (int j = 0; j < sub.length; j++) {
+          row[j] |= sub[j];
+        }
+      }
+
+      rows[k] = row;
+    }
+  }
+
+  @Override
+  public boolean reachable(int v, int w) {
+    validateVertex(v);
+    validateVertex(w);
+
+    int cv = componentOf[v];
+    int cw = componentOf[w];
+    long[] row = rows[cv];
+    return (cw >>> 6) < row.length && (row[cw >>> 6] & (1L << cw)) != 0;
+  }
+
+  /**
+   * Number of vertices reachable from v, v included.
+   *
+   * @param v Vertex
+   * @return Number of reachable vertices
+   * @throws IllegalArgumentException if v is not present in the graph
+   */
+  public int count(int v) {
+    validateVertex(v);
+
+    long[] row = rows[componentOf[v]];
+    int count = 0;
+    for (int w = 0; w < componentOf.length; w++) {
+      int cw = componentOf[w];
+      if ((cw >>> 6) < row.length && (row[cw >>> 6] & (1L << cw)) != 0) {
+        count++;
+      }
+    }
+
+    return count;
+  }
+
+  private void validateVertex(int v) {
+    if (v < 0 || v >= componentOf.length) {
+      throw new IllegalArgumentException("Vertex must be present in graph");
+    }
+  }
+}
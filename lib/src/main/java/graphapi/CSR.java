@@ -0,0 +1,207 @@
+package graphapi;
+
+import java.util.Arrays;
+
+/**
+ * Compressed sparse row snapshot of a graph's adjacency lists.
+ *
+ * Neighbours of v are stored in targets[offsets[v]] .. targets[offsets[v + 1]
+ * - 1] in ascending order, so traversals can walk them with a plain int cursor
+ * instead of boxed iterators. An undirected edge is stored once in each
+ * direction. The snapshot does not follow later changes to the graph.
+ */
+public class CSR {
+  final int[] offsets;
+  final int[] targets;
+
+  CSR(int[] offsets, int[] targets) {
+    this.offsets = offsets;
+    this.targets = targets;
+  }
+
+  /**
+   * Snapshot an undirected graph.
+   *
+   * @param g Graph
+   * @return Adjacency arrays of g
+   * @throws IllegalArgumentException if g is null
+   */
+  public static CSR of(Graph g) {
+    if (g == null) {
+      throw new IllegalArgumentException("Graph cannot be null");
+    }
+
+    int n = g.V();
+    int[] offsets = new int[n + 1];
+    for (int v = 0; v < n; v++) {
+      offsets[v + 1] = offsets[v] + g.degree(v);
+    }
+
+    int[] targets = new int[offsets[n]];
+    for (int v = 0; v < n; v++) {
+      int i = offsets[v];
+      for (int w : g.adj(v)) {
+        targets[i++] = w;
+      }
+      Arrays.sort(targets, offsets[v], i);
+    }
+
+    return new CSR(offsets, targets);
+  }
+
+  /**
+   * Snapshot the out-arcs of a directed graph.
+   *
+   * @param g Directed graph
+   * @return Adjacency arrays of g
+   * @throws IllegalArgumentException if g is null
+   */
+  public static CSR of(DiGraph g) {
+    if (g == null) {
+      throw new IllegalArgumentException("Graph cannot be null");
+    }
+
+    int n = g.V();
+    int[] offsets = new int[n + 1];
+    for (int v = 0; v < n; v++) {
+      offsets[v + 1] = offsets[v] + g.outdegree(v);
+    }
+
+    int[] targets = new int[offsets[n]];
+    for (int v = 0; v < n; v++) {
+      int i = offsets[v];
+      for (int w : g.adj(v)) {
+        targets[i++] = w;
+      }
+      Arrays.sort(targets, offsets[v], i);
+    }
+
+    return new CSR(offsets, targets);
+  }
+
+  /**
+   * Adjacency arrays with every arc reversed. For a directed graph these are the
+   * in-neighbours of each vertex; rows stay sorted.
+   *
+   * @return Reversed adjacency arrays
+   */
+  public CSR reverse() {
+    int n = V();
+    int[] rOffsets = new int[n + 1];
+    for (int w : targets) {
+      rOffsets[w + 1]++;
+    }
+
+    for (int v = 0; v < n; v++) {
+      rOffsets[v + 1] += rOffsets[v];
+    }
+
+    int[] next = Arrays.copyOf(rOffsets, n);
+    int[] rTargets = new int[targets.length];
+    for (int v = 0; v < n; v++) {
+      for (int i = offsets[v]; i < offsets[v + 1]; i++) {
+        rTargets[next[targets[i]]++] = v;
+      }
+    }
+
+    return new CSR(rOffsets, rTargets);
+  }
+
+  /**
+   * Adjacency arrays without self-loops and repeated neighbours; rows stay
+   * sorted.
+   *
+   * @return Simple adjacency arrays
+   */
+  public CSR simple() {
+    int n = V();
+    int[] sOffsets = new int[n + 1];
+    int[] sTargets = new int[targets.length];
+    int k = 0;
+    for (int v = 0; v < n; v++) {
+      for (int i = offsets[v]; i < offsets[v + 1]; i++) {
+        int w = targets[i];
+        if (w != v && (i == offsets[v] || w != targets[i - 1])) {
+          sTargets[k++] = w;
+        }
+      }
+      sOffsets[v + 1] = k;
+    }
+
+    return new CSR(sOffsets, k == targets.length ? sTargets : Arrays.copyOf(sTargets, k));
+  }
+
+  /**
+   * First position in the sorted range [from, to) of a holding a value not
+   * below key, found by doubling the step and then halving it, so a search
+   * that lands d positions ahead costs O(log d).
+   */
+  static int gallop(int[] a, int from, int to, int key) {
+    int step = 1;
+    int lo = from, hi = from;
+    while (hi < to && a[hi] < key) {
+      lo = hi + 1;
+      hi = Math.min(to, hi + step);
+      step <<= 1;
+    }
+
+    while (lo < hi) {
+      int mid = (lo + hi) >>> 1;
+      if (a[mid] < key) {
+        lo = mid + 1;
+      } else {
+        hi = mid;
+      }
+    }
+    return lo;
+  }
+
+  /**
+   * Number of vertices.
+   *
+   * @return Number of vertices
+   */
+  public int V() {
+    return offsets.length - 1;
+  }
+
+  /**
+   * Number of stored adjacency entries, twice the number of edges for an
+   * undirected graph.
+   *
+   * @return Number of entries
+   */
+  public int entries() {
+    return targets.length;
+  }
+
+  /**
+   * Degree of vertex v.
+   *
+   * @param v Vertex
+   * @return Number of neighbours of v
+   * @throws IllegalArgumentException if v is not present in the graph
+   */
+  public int degree(int v) {
+    validateVertex(v);
+    return offsets[v + 1] - offsets[v];
+  }
+
+  /**
+   * Neighbours of vertex v.
+   *
+   * @param v Vertex
+   * @return Copy of the sorted neighbours of v
+   * @throws IllegalArgumentException if v is not present in the graph
+   */
+  public int[] adj(int v) {
+    validateVertex(v);
+    return Arrays.copyOfRange(targets, offsets[v], offsets[v + 1]);
+  }
+
+  private void validateVertex(int v) {
+    if (v < 0 || v >= V()) {
+      throw new IllegalArgumentException("Vertex must be present in graph");
+    }
+  }
+}
@@ -0,0 +1,217 @@
+package graphapi;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Connected components of a graph, or weakly connected components of a
+ * directed graph, found in one O(V + E) pass.
+ *
+ * Components are numbered 0 .. count() - 1 in the order of their smallest
+ * vertex, so the labelling depends only on the graph.
+ */
+public class ConnectedComponents {
+  private int[] componentOf;
+  private int[] sizes;
+
+  /**
+   * Label the connected components of an undirected graph.
+   *
+   * @param g Graph
+   * @throws IllegalArgumentException if g is null
+   */
+  public ConnectedComponents(Graph g) {
+    find(CSR.of(g), null);
+  }
+
+  /**
+   * Label the weakly connected components of a directed graph.
+   *
+   * @param g Directed graph
+   * @throws IllegalArgumentException if g is null
+   */
+  public ConnectedComponents(DiGraph g) {
+    CSR out = CSR.of(g);
+    find(out, out.reverse());
+  }
+
+  /**
+   * Label the components of a graph given by its adjacency arrays.
+   *
+   * @param out Out-neighbours of every vertex
+   * @param in  In-neighbours of every vertex, or null if the graph is
+   *            undirected
+   * @throws IllegalArgumentException if out is null
+   */
+  public ConnectedComponents(CSR out, CSR in) {
+    if (out == null) {
+      throw new IllegalArgumentException("Graph cannot be null");
+    }
+
+    find(out, in);
+  }
+
+  ConnectedComponents(int[] componentOf, int[] sizes) {
+    this.componentOf = componentOf;
+    this.sizes = sizes;
+  }
+
+  private void find(CSR out, CSR in) {
+    int n = out.V();
+    componentOf = new int[n];
+    for (int v = 0; v < n; v++) {
+      componentOf[v] = -1;
+    }
+
+    int[] queue = new int[n];
+    int[] found = new int[n];
+    int count = 0;
+
+    for (int s = 0; s < n; s++) {
+      if (componentOf[s] != -1) {
+        continue;
+      }
+
+      int head = 0, tail = 0;
+      componentOf[s] = count;
+      queue[tail++] = s;
+
+      while (head < tail) {
+        int v = queue[head++];
+        tail = label(out, v, count, queue, tail);
+        if (in != null) {
+          tail = label(in, v, count, queue, tail);
+        }
+      }
+
+      found[count++] = tail;
+    }
+
+    sizes = new int[count];
+    System.arraycopy(found, 0, sizes, 0, count);
+  }
+
+  private int label(CSR g, int v, int id, int[] queue, int tail) {
+    for (int i = g.offsets[v]; i < g.offsets[v + 1]; i++) {
+      int w = g.targets[i];
+      if (componentOf[w] == -1) {
+        componentOf[w] = id;
+        queue[tail++] = w;
+      }
+    }
+    return tail;
+  }
+
+  private void validateVertex(int v) {
+    if (v < 0 || v >= componentOf.length) {
+      throw new IllegalArgumentException("Vertex must be present in graph");
+    }
+  }
+
+  private void validateComponent(int id) {
+    if (id < 0 || id >= sizes.length) {
+      throw new IllegalArgumentException("Component does not exist");
+    }
+  }
+
+  /**
+   * Number of components.
+   *
+   * @return Number of components
+   */
+  public int count() {
+    return sizes.length;
+  }
+
+  /**
+   * Component containing vertex v.
+   *
+   * @param v Vertex
+   * @return Component id
+   * @throws IllegalArgumentException if v is not present in the graph
+   */
+  public int id(int v) {
+    validateVertex(v);
+    return componentOf[v];
+  }
+
+  /**
+   * Number of vertices in a component.
+   *
+   * @param id Component id
+   * @return Size of the component
+   * @throws IllegalArgumentException if the component does not exist
+   */
+  public int size(int id) {
+    validateComponent(id);
+    return sizes[id];
+  }
+
+  /**
+   * Check if v and w are in the same component.
+   *
+   * @param v Vertex
+   * @param w Vertex
+   * @return True if v and w are connected, false otherwise
+   * @throws IllegalArgumentException if v or w is not present in the graph
+   */
+  public boolean connected(int v, int w) {
+    return id(v) == id(w);
+  }
+
+  /**
+   * Component of every vertex.
+   *
+   * @return Copy of the labelling
+   */
+  public int[] componentOf() {
+    return componentOf.clone();
+  }
+
+  /**
+   * Size of every component.
+   *
+   * @return Copy of the component sizes
+   */
+  public int[] sizes() {
+    return sizes.clone();
+  }
+
+  /**
+   * Vertices of a component in increasing order.
+   *
+   * @param id Component id
+   * @return Iterable of vertices in the component
+   * @throws IllegalArgumentException if the component does not exist
+   */
+  public Iterable<Integer> component(int id) {
+    validateComponent(id);
+
+    List<Integer> comp = new ArrayList<>(sizes[id]);
+    for (int v = 0; v < componentOf.length; v++) {
+      if (componentOf[v] == id) {
+        comp.add(v);
+      }
+    }
+
+    return comp;
+  }
+
+  /**
+   * Vertices of every component, each in increasing order.
+   *
+   * @return Iterable of components
+   */
+  public Iterable<Iterable<Integer>> components() {
+    List<List<Integer>> comps = new ArrayList<>(sizes.length);
+    for (int size : sizes) {
+      comps.add(new ArrayList<>(size));
+    }
+
+    for (int v = 0; v < componentOf.length; v++) {
+      comps.get(componentOf[v]).add(v);
+    }
+
+    return new ArrayList<Iterable<Integer>>(comps);
+  }
+}
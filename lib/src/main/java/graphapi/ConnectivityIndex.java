@@ -0,0 +1,155 @@
+package graphapi;
+
+import java.util.Arrays;
+
+/**
+ * Union-find over the vertices of a graph, with union by rank and path
+ * halving. Edges can be added at any time; removing one requires building a
+ * new index.
+ */
+public class ConnectivityIndex {
+  private int[] parent;
+  private byte[] rank;
+  private int count;
+
+  /**
+   * Create an index of n isolated vertices.
+   *
+   * @param n Number of vertices
+   * @throws IllegalArgumentException if n is negative
+   */
+  public ConnectivityIndex(int n) {
+    if (n < 0) {
+      throw new IllegalArgumentException("Number of vertices must be non-negative");
+    }
+
+    parent = new int[n];
+    rank = new byte[n];
+    count = n;
+
+    for (int v = 0; v < n; v++) {
+      parent[v] = v;
+    }
+  }
+
+  /**
+   * Create an index of the components of a graph.
+   *
+   * @param g Graph
+   * @throws IllegalArgumentException if g is null
+   */
+  public ConnectivityIndex(Graph g) {
+    this(g == null ? 0 : g.V());
+
+    if (g == null) {
+      throw new IllegalArgumentException("Graph cannot be null");
+    }
+
+    for (int v = 0; v < g.V(); v++) {
+      for (int w : g.adj(v)) {
+        if (v < w) {
+          union(v, w);
+        }
+      }
+    }
+  }
+
+  /**
+   * Number of vertices.
+   *
+   * @return Number of vertices
+   */
+  public int V() {
+    return parent.length;
+  }
+
+  /**
+   * Number of components.
+   *
+   * @return Number of components
+   */
+  public int count() {
+    return count;
+  }
+
+  /**
+   * Add an isolated vertex with the next free id.
+   */
+  public void addVertex() {
+    int v = parent.length;
+
+    if (v == Integer.MAX_VALUE) {
+      throw new IllegalStateException("index is full");
+    }
+
+    parent = Arrays.copyOf(parent, v + 1);
+    rank = Arrays.copyOf(rank, v + 1);
+    parent[v] = v;
+    count++;
+  }
+
+  /**
+   * Representative of the component containing v.
+   *
+   * @param v Vertex
+   * @return Representative vertex
+   * @throws IllegalArgumentException if v is not present in the index
+   */
+  public int find(int v) {
+    validateVertex(v);
+
+    while (parent[v] != v) {
+      parent[v] = parent[parent[v]];
+      v = parent[v];
+    }
+
+    return v;
+  }
+
+  /**
+   * Merge the components of v and w.
+   *
+   * @param v Vertex
+   * @param w Vertex
+   * @return True if v and w were in different components, false otherwise
+   * @throws IllegalArgumentException if v or w is not present in the index
+   */
+  public boolean union(int v, int w) {
+    int rv = find(v);
+    int rw = find(w);
+
+    if (rv == rw) {
+      return false;
+    }
+
+    if (rank[rv] < rank[rw]) {
+      parent[rv] = rw;
+    } else if (rank[rv] > rank[rw]) {
+      parent[rw] = rv;
+    } else {
+      parent[rw] = rv;
+      rank[rv]++;
+    }
+
+    count--;
+    return true;
+  }
+
+  /**
+   * Check if v and w are in the same component.
+   *
+   * @param v Vertex
+   * @param w Vertex
+   * @return True if v and w are connected, false otherwise
+   * @throws IllegalArgumentException if v or w is not present in the index
+   */
+  public boolean connected(int v, int w) {
+    return find(v) == find(w);
+  }
+
+  private void validateVertex(int v) {
+    if (v < 0 || v >= parent.length) {
+      throw new IllegalArgumentException("Vertex must be present in graph");
+    }
+  }
+}
@@ -0,0 +1,178 @@
+package graphapi;
+
+import java.util.Arrays;
+
+/**
+ * Nested k-cores of a graph, ready to be extracted in time proportional to
+ * their size.
+ *
+ * Vertices are stored in reverse degeneracy order, so core numbers never
+ * increase along it and every k-core is a prefix whose length is kept per k.
+ * The adjacency is renumbered by that position and every row is sorted, so
+ * the neighbours of a vertex inside a k-core also form a prefix of its row and
+ * materializing a k-core reads nothing outside it.
+ */
+public class CoreHierarchy {
+  private final int[] core;
+  private final int[] peel;
+  private final int[] order;
+  private final int[] position;
+  private final int[] end;
+  private final CSR adj;
+
+  /**
+   * Decompose a graph into its cores.
+   *
+   * @param g Graph
+   * @throws IllegalArgumentException if g is null
+   */
+  public CoreHierarchy(Graph g) {
+    int[][] result = Algorithms.peel(g);
+    core = result[0];
+    peel = result[1];
+
+    int n = core.length;
+    order = new int[n];
+    position = new int[n];
+    for (int p = 0; p < n; p++) {
+      order[p] = peel[n - 1 - p];
+      position[order[p]] = p;
+    }
+
+    int max = n == 0 ? 0 : core[order[0]];
+    end = new int[max + 2];
+    for (int p = 0; p < n; p++) {
+      end[core[order[p]]] = p + 1;
+    }
+    for (int k = max; k >= 0; k--) {
+      end[k] = Math.max(end[k], end[k + 1]);
+    }
+
+    adj = renumber(CSR.of(g));
+  }
+
+  /**
+   * Adjacency arrays by position, each row in increasing order, built by
+   * appending positions in increasing order instead of sorting.
+   */
+  private CSR renumber(CSR g) {
+    int n = order.length;
+    int[] offsets = new int[n + 1];
+    for (int p = 0; p < n; p++) {
+      offsets[p + 1] = offsets[p] + g.degree(order[p]);
+    }
+
+    int[] next = Arrays.copyOf(offsets, n);
+    int[] targets = new int[offsets[n]];
+    for (int p = 0; p < n; p++) {
+      int v = order[p];
+      for (int i = g.offsets[v]; i < g.offsets[v + 1]; i++) {
+        targets[next[position[g.targets[i]]]++] = p;
+      }
+    }
+
+    return new CSR(offsets, targets);
+  }
+
+  private void validateVertex(int v) {
+    if (v < 0 || v >= core.length) {
+      throw new IllegalArgumentException("Vertex must be present in graph");
+    }
+  }
+
+  /**
+   * Largest k with a non-empty k-core, the degeneracy of the graph.
+   *
+   * @return Degeneracy
+   */
+  public int degeneracy() {
+    return end.length - 2;
+  }
+
+  /**
+   * Core number of vertex v.
+   *
+   * @param v Vertex
+   * @return Core number of v
+   * @throws IllegalArgumentException if v is not present in the graph
+   */
+  public int core(int v) {
+    validateVertex(v);
+    return core[v];
+  }
+
+  /**
+   * Core numbers of all vertices.
+   *
+   * @return Copy of the core numbers
+   */
+  public int[] cores() {
+    return core.clone();
+  }
+
+  /**
+   * Vertices in degeneracy order: every vertex has at most degeneracy()
+   * neighbours after it.
+   *
+   * @return Copy of the ordering
+   */
+  public int[] degeneracyOrder() {
+    return peel.clone();
+  }
+
+  /**
+   * Number of vertices in the k-core.
+   *
+   * @param k Core number
+   * @return Size of the k-core
+   */
+  public int size(int k) {
+    if (k <= 0) {
+      return core.length;
+    }
+    return k < end.length ? end[k] : 0;
+  }
+
+  /**
+   * Vertices of the k-core, by non-increasing core number.
+   *
+   * @param k Core number
+   * @return Vertices of the k-core
+   */
+  public int[] vertices(int k) {
+    return Arrays.copyOf(order, size(k));
+  }
+
+  /**
+   * Adjacency arrays of the subgraph induced by the k-core. Vertex i of the
+   * result is vertices(k)[i].
+   *
+   * @param k Core number
+   * @return Adjacency arrays of the k-core
+   */
+  public CSR kCore(int k) {
+    int size = size(k);
+    int[] offsets = new int[size + 1];
+
+    for (int p = 0; p < size; p++) {
+      offsets[p + 1] = offsets[p] + inside(p, size);
+    }
+
+    int[] targets = new int[offsets[size]];
+    for (int p = 0; p < size; p++) {
+      System.arraycopy(adj.targets, adj.offsets[p], targets, offsets[p], offsets[p + 1] - offsets[p]);
+    }
+
+    return new CSR(offsets, targets);
+  }
+
+  /**
+   * Number of neighbours of position p at positions below size, found by
+   * binary search in the sorted row.
+   */
+  private int inside(int p, int size) {
+    int from = adj.offsets[p];
+    int i = Arrays.binarySearch(adj.targets, from, adj.offsets[p + 1], size);
+    return (i >= 0 ? i : -i - 1) - from;
+  }
+}
@@ -0,0 +1,399 @@
+package graphapi;
+
+import java.util.Arrays;
+
+/**
+ * Core numbers of a graph kept up to date while edges change, with the
+ * traversal algorithms of Sariyuce et al.
+ *
+ * Adding or removing an edge changes core numbers by at most one, and only
+ * inside the subcore of the endpoint with the smaller core: the vertices of
+ * that core number connected to it through vertices of the same core number.
+ * An insertion walks that subcore from the root, entering only vertices with
+ * more than K neighbours of core at least K, and counts for each the
+ * neighbours that could share a K + 1 core with it. Every visited vertex whose
+ * count drops to K is evicted, lowering the counts of its neighbours; the
+ * survivors move up to K + 1. A removal dislodges the endpoints whose count
+ * of such neighbours fell below K and propagates along vertices of core K.
+ * Scratch arrays are stamped per update, so an update costs time in the size
+ * of the subcore it touches. A batch of more than 64 edges that is also larger
+ * than a quarter of the edges of the graph is instead applied directly and
+ * followed by one full decomposition.
+ *
+ * The maintainer changes the wrapped graph itself; the graph must not be
+ * changed by other means while it is in use.
+ */
+public class CoreMaintenance {
+  private static final int BATCH_REBUILD = 64;
+
+  private final Graph g;
+  private int[] core;
+  private int[] cd;
+  private int[] cdStamp;
+  private int[] mcd;
+  private int[] mcdStamp;
+  private int[] visited;
+  private int[] evicted;
+  private int[] stack;
+  private int[] chain;
+  private int[] pending;
+  private int stamp;
+
+  /**
+   * Maintain the core numbers of a graph.
+   *
+   * @param g Graph
+   * @throws IllegalArgumentException if g is null
+   */
+  public CoreMaintenance(Graph g) {
+    if (g == null) {
+      throw new IllegalArgumentException("Graph cannot be null");
+    }
+
+    this.g = g;
+    core = Algorithms.kCoreDecompose(g);
+    allocate();
+  }
+
+  private void allocate() {
+    int n = g.V();
+    core = Arrays.copyOf(core, n);
+    cd = new int[n];
+    cdStamp = new int[n];
+    mcd = new int[n];
+    mcdStamp = new int[n];
+    visited = new int[n];
+    evicted = new int[n];
+    stack = new int[n];
+    chain = new int[n];
+    pending = new int[n];
+    stamp = 0;
+  }
+
+  private void nextStamp() {
+    if (stamp == Integer.MAX_VALUE) {
+      allocate();
+    }
+    stamp++;
+  }
+
+  /**
+   * The wrapped graph.
+   *
+   * @return Graph
+   */
+  public Graph graph() {
+    return g;
+  }
+
+  /**
+   * Core number of vertex v.
+   *
+   * @param v Vertex
+   * @return Core number of v
+   * @throws IllegalArgumentException if v is not present in the graph
+   */
+  public int core(int v) {
+    if (v < 0 || v >= g.V()) {
+      throw new IllegalArgumentException("Vertex must be present in graph");
+    }
+
+    return core[v];
+  }
+
+  /**
+   * Core numbers of all vertices.
+   *
+   * @return Copy of the core numbers
+   */
+  public int[] cores() {
+    return core.clone();
+  }
+
+  /**
+   * Add an isolated vertex to the graph. Its core number is 0.
+   */
+  public void addVertex() {
+    g.addVertex();
+    allocate();
+  }
+
+  /**
+   * Add the edge v-w to the graph and update the core numbers.
+   *
+   * @param v Vertex
+   * @param w Vertex
+   * @return True if the edge was added, false if it was already present
+   * @throws IllegalArgumentException if v or w is not present in the graph
+   */
+  public boolean addEdge(int v, int w) {
+    if (g.hasEdge(v, w)) {
+      return false;
+    }
+
+    g.addEdge(v, w);
+    promote(core[v] <= core[w] ? v : w);
+    return true;
+  }
+
+  /**
+   * Remove the edge v-w from the graph and update the core numbers.
+   *
+   * @param v Vertex
+   * @param w Vertex
+   * @return True if the edge was removed, false if it was not present
+   * @throws IllegalArgumentException if v or w is not present in the graph
+   */
+  public boolean removeEdge(int v, int w) {
+    if (!g.hasEdge(v, w)) {
+      return false;
+    }
+
+    g.removeEdge(v, w);
+    dislodge(v, w);
+    return true;
+  }
+
+  /**
+   * Add a batch of edges. Edges already present are skipped. A batch of more
+   * than 64 edges that is also larger than a quarter of the edges of the graph
+   * is applied first and followed by one full decomposition, which is cheaper
+   * than as many traversals.
+   *
+   * @param edges Edges to add
+   * @return Number of edges added
+   * @throws IllegalArgumentException if edges is null or an endpoint is not
+   *                                  present in the graph
+   */
+  public int addEdges(Graph.Edge[] edges) {
+    if (edges == null) {
+      throw new IllegalArgumentException("Edges cannot be null");
+    }
+
+    boolean rebuild = large(edges);
+    int added = 0;
+    for (Graph.Edge e : edges) {
+      if (g.hasEdge(e.v, e.w)) {
+        continue;
+      }
+
+      if (rebuild) {
+        g.addEdge(e.v, e.w);
+      } else {
+        addEdge(e.v, e.w);
+      }
+      added++;
+    }
+
+    if (rebuild) {
+      core = Algorithms.kCoreDecompose(g);
+    }
+    return added;
+  }
+
+  /**
+   * Remove a batch of edges. Edges not present are skipped. Large batches are
+   * handled like in {@link #addEdges(Graph.Edge[])}.
+   *
+   * @param edges Edges to remove
+   * @return Number of edges removed
+   * @throws IllegalArgumentException if edges is null or an endpoint is not
+   *                                  present in the graph
+   */
+  public int removeEdges(Graph.Edge[] edges) {
+    if (edges == null) {
+      throw new IllegalArgumentException("Edges cannot be null");
+    }
+
+    boolean rebuild = large(edges);
+    int removed = 0;
+    for (Graph.Edge e : edges) {
+      if (!g.hasEdge(e.v, e.w)) {
+        continue;
+      }
+
+      if (rebuild) {
+        g.removeEdge(e.v, e.w);
+      } else {
+        removeEdge(e.v, e.w);
+      }
+      removed++;
+    }
+
+    if (rebuild) {
+      core = Algorithms.kCoreDecompose(g);
+    }
+    return removed;
+  }
+
+  private boolean large(Graph.Edge[] edges) {
+    return edges.length > BATCH_REBUILD && edges.length > g.E() / 4;
+  }
+
+  /**
+   * Number of neighbours of v whose core number is at least K; vertices
+   * already dislodged by the current removal still count with their old core.
+   */
+  private int mcd(int v, int k) {
+    if (mcdStamp[v] != stamp) {
+      int count = 0;
+      for (int u : g.adj(v)) {
+        if (core[u] >= k || evicted[u] == stamp) {
+          count++;
+        }
+      }
+
+      mcdStamp[v] = stamp;
+      mcd[v] = count;
+    }
+    return mcd[v];
+  }
+
+  /**
+   * Number of neighbours of v that can support it in a K + 1 core: those of a
+   * higher core and those of core K that have more than K such neighbours.
+   */
+  private int pcd(int v, int k) {
+    int count = 0;
+    for (int u : g.adj(v)) {
+      if (core[u] > k || core[u] == k && mcd(u, k) > k) {
+        count++;
+      }
+    }
+    return count;
+  }
+
+  /**
+   * Reset the candidate degree of v on its first use in the current update.
+   */
+  private void touch(int v) {
+    if (cdStamp[v] != stamp) {
+      cdStamp[v] = stamp;
+      cd[v] = 0;
+    }
+  }
+
+  private void promote(int root) {
+    nextStamp();
+    int k = core[root];
+    int top = 0;
+
+    visited[root] = stamp;
+    touch(root);
+    cd[root] += pcd(root, k);
+    stack[top++] = root;
+
+    int count = 0;
+    while (top > 0) {
+      int v = stack[--top];
+      pending[count++] = v;
+
+      if (cd[v] > k) {
+        for (int w : g.adj(v)) {
+          if (core[w] == k && visited[w] != stamp && mcd(w, k) > k) {
+            visited[w] = stamp;
+            touch(w);
+            cd[w] += pcd(w, k);
+            stack[top++] = w;
+          }
+        }
+      } else if (evicted[v] != stamp) {
+        evict(v, k);
+      }
+    }
+
+    for (int i = 0; i < count; i++) {
+      int v = pending[i];
+      if (evicted[v] != stamp) {
+        core[v]++;
+      }
+    }
+  }
+
+  /**
+   * Evict v from the candidates, and with it every visited vertex left with
+   * at most K candidate neighbours.
+   */
+  private void evict(int v, int k) {
+    int top = 0;
+    evicted[v] = stamp;
+    chain[top++] = v;
+
+    while (top > 0) {
+      int x = chain[--top];
+
+      // Only vertices with more than K neighbours of core K or higher were
+      // counted by their neighbours; the root may not be one of them.
+      if (mcd(x, k) <= k) {
+        continue;
+      }
+
+      for (int w : g.adj(x)) {
+        if (core[w] != k) {
+          continue;
+        }
+
+        touch(w);
+        cd[w]--;
+        if (cd[w] <= k && evicted[w] != stamp && visited[w] == stamp) {
+          evicted[w] = stamp;
+          chain[top++] = w;
+        }
+      }
+    }
+  }
+
+  private void dislodge(int v, int w) {
+    nextStamp();
+    int k = Math.min(core[v], core[w]);
+    int top = 0;
+
+    if (core[v] == k) {
+      stack[top++] = v;
+    }
+    if (core[w] == k && w != v) {
+      stack[top++] = w;
+    }
+
+    int roots = top;
+    top = 0;
+    for (int r = 0; r < roots; r++) {
+      int root = stack[r];
+      if (evicted[root] == stamp) {
+        continue;
+      }
+
+      if (cdStamp[root] != stamp) {
+        cdStamp[root] = stamp;
+        cd[root] = mcd(root, k);
+      }
+
+      if (cd[root] < k) {
+        evicted[root] = stamp;
+        core[root]--;
+        pending[top++] = root;
+      }
+    }
+
+    while (top > 0) {
+      int x = pending[--top];
+      for (int u : g.adj(x)) {
+        if (core[u] != k) {
+          continue;
+        }
+
+        if (cdStamp[u] != stamp) {
+          cdStamp[u] = stamp;
+          cd[u] = mcd(u, k);
+        }
+
+        cd[u]--;
+        if (cd[u] < k) {
+          evicted[u] = stamp;
+          core[u]--;
+          pending[top++] = u;
+        }
+      }
+    }
+  }
+}
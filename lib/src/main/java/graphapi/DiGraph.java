@@ -84,15 +84,23 @@ public class DiGraph {
   }
 
   public Iterable<Iterable<Integer>> weakComponents() {
-    return getSimpleGraph().components();
+    return new ConnectedComponents(this).components();
   }
 
   public Iterable<Integer> weakComponent(int v) {
-    return getSimpleGraph().component(v);
+    validateVertex(v);
+    ConnectedComponents cc = new ConnectedComponents(this);
+    return cc.component(cc.id(v));
+  }
+
+  public Iterable<Iterable<Integer>> strongComponents() {
+    return new StrongComponents(this).components();
   }
 
   public Iterable<Integer> strongComponent(int v) {
-    return null;
+    validateVertex(v);
+    StrongComponents scc = new StrongComponents(this);
+    return scc.component(scc.id(v));
   }
 
   public Graph getSimpleGraph() {
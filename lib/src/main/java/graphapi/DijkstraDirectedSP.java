@@ -19,7 +19,7 @@ public class DijkstraDirectedSP {
     for (int v : g.vertices()) {
       distTo[v] = Double.POSITIVE_INFINITY;
     }
-    find(u);
+    solve(u);
   }
 
   public DijkstraDirectedSP(EdgeWeightedDiGraph g, int u, Condition condition) {
@@ -32,7 +32,7 @@ public class DijkstraDirectedSP {
       distTo[v] = Double.POSITIVE_INFINITY;
     }
     this.condition = condition;
-    find(u);
+    solve(u);
   }
 
   private void validateVertex(int v) {
@@ -42,6 +42,27 @@ public class DijkstraDirectedSP {
     }
   }
 
+  /**
+   * Delegate to the topological order relaxation if the graph is acyclic, as it
+   * runs in linear time and does not depend on the arc weights being
+   * non-negative.
+   *
+   * @param u Source vertex
+   */
+  private void solve(int u) {
+    int[] order = AcyclicSP.topologicalOrder(g);
+    if (order == null) {
+      find(u);
+      return;
+    }
+
+    AcyclicSP sp = new AcyclicSP(g, u, order, AcyclicSP.Objective.SHORTEST, condition);
+    for (int v : g.vertices()) {
+      distTo[v] = sp.distTo(v);
+      edgeTo[v] = sp.edgeTo(v);
+    }
+  }
+
   private void find(int u) {
     distTo[u] = 0.0;
 
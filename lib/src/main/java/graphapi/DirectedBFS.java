@@ -1,43 +1,17 @@
 package graphapi;
 
-import java.util.LinkedList;
-
 public class DirectedBFS {
-  private DiGraph g;
-  private boolean[] marked;
-  private int count;
+  private DirectionOptimizingBFS bfs;
 
   public DirectedBFS(DiGraph g, int v) {
-    this.g = g;
-    marked = new boolean[g.V()];
-    count = 0;
-    findReachable(v);
-  }
-
-  private void findReachable(int v) {
-    LinkedList<Integer> q = new LinkedList<>();
-    q.addLast(v);
-
-    while (q.size() != 0) {
-      int w = q.removeFirst();
-      if (marked[w]) {
-        continue;
-      }
-
-      count++;
-      marked[w] = true;
-
-      for (int x : g.adj(w)) {
-        q.addLast(x);
-      }
-    }
+    bfs = new DirectionOptimizingBFS(g, v);
   }
 
   public int count() {
-    return count;
+    return bfs.count();
   }
 
   public boolean marked(int v) {
-    return marked[v];
+    return bfs.marked(v);
   }
 }
@@ -1,9 +1,7 @@
 package graphapi;
 
 public class DirectedDFS {
-  private DiGraph g;
-  private boolean[] marked;
-  private int count;
+  private IterativeDFS dfs;
 
   /**
    * Find nodes that are reachable from a specified node.
@@ -12,10 +10,7 @@ public class DirectedDFS {
    * @param v Source node
    */
   public DirectedDFS(DiGraph g, int v) {
-    this.g = g;
-    marked = new boolean[g.V()];
-    count = 0;
-    findReachable(v);
+    dfs = new IterativeDFS(CSR.of(g)).search(v);
   }
 
   /**
@@ -25,32 +20,17 @@ public class DirectedDFS {
    * @param sources Source nodes
    */
   public DirectedDFS(DiGraph g, Iterable<Integer> sources) {
-    this.g = g;
-    marked = new boolean[g.V()];
-    count = 0;
+    dfs = new IterativeDFS(CSR.of(g));
     for (int s : sources) {
-      if (!marked[s]) {
-        findReachable(s);
-      }
-    }
-  }
-
-  private void findReachable(int v) {
-    count++;
-    marked[v] = true;
-
-    for (int w : g.adj(v)) {
-      if (!marked[w]) {
-        findReachable(w);
-      }
+      dfs.search(s);
     }
   }
 
   public int count() {
-    return count;
+    return dfs.count();
   }
 
   public boolean marked(int v) {
-    return marked[v];
+    return dfs.marked(v);
   }
 }
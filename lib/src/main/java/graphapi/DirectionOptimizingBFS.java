@@ -0,0 +1,275 @@
+package graphapi;
+
+import java.util.Arrays;
+
+/**
+ * Breadth-first search that switches between top-down and bottom-up steps.
+ *
+ * A top-down step scans the arcs leaving the frontier. A bottom-up step lets
+ * every unvisited vertex look for a parent among its in-neighbours and stop at
+ * the first one found in the frontier, which is far cheaper when the frontier
+ * covers a large part of the graph. The switch follows Beamer et al.: go
+ * bottom-up once the frontier has more than 1/alpha of the unexplored arcs,
+ * and back top-down once it holds fewer than 1/beta of the vertices.
+ */
+public class DirectionOptimizingBFS {
+  private static final int ALPHA = 15;
+  private static final int BETA = 18;
+
+  private final CSR out;
+  private final CSR in;
+  private final int[] distTo;
+  private final int[] edgeTo;
+  private final long[] visited;
+  private int count;
+
+  /**
+   * Search an undirected graph from vertex s.
+   *
+   * @param g Graph
+   * @param s Source vertex
+   * @throws IllegalArgumentException if g is null or s is not present in the
+   *                                  graph
+   */
+  public DirectionOptimizingBFS(Graph g, int s) {
+    this(CSR.of(g), null, s);
+  }
+
+  /**
+   * Search a directed graph from vertex s.
+   *
+   * @param g Directed graph
+   * @param s Source vertex
+   * @throws IllegalArgumentException if g is null or s is not present in the
+   *                                  graph
+   */
+  public DirectionOptimizingBFS(DiGraph g, int s) {
+    this(CSR.of(g), s);
+  }
+
+  private DirectionOptimizingBFS(CSR out, int s) {
+    this(out, out.reverse(), s);
+  }
+
+  /**
+   * Search from vertex s.
+   *
+   * @param out Out-neighbours of every vertex
+   * @param in  In-neighbours of every vertex, or null if the graph is
+   *            undirected
+   * @param s   Source vertex
+   * @throws IllegalArgumentException if out is null or s is not present in the
+   *                                  graph
+   */
+  public DirectionOptimizingBFS(CSR out, CSR in, int s) {
+    if (out == null) {
+      throw new IllegalArgumentException("Graph cannot be null");
+    }
+
+    if (s < 0 || s >= out.V()) {
+      throw new IllegalArgumentException("Vertex must be present in graph");
+    }
+
+    this.out = out;
+    this.in = in == null ? out : in;
+
+    int n = out.V();
+    distTo = new int[n];
+    edgeTo = new int[n];
+    visited = new long[(n + 63) >>> 6];
+    Arrays.fill(distTo, -1);
+    Arrays.fill(edgeTo, -1);
+
+    search(s);
+  }
+
+  private void search(int s) {
+    int n = out.V();
+    int[] frontier = new int[n];
+    int[] next = new int[n];
+    long[] frontierBits = new long[visited.length];
+    long[] nextBits = new long[visited.length];
+
+    visit(s, -1, 0);
+    frontier[0] = s;
+    int size = 1;
+    long unexplored = out.entries() - degree(s);
+    boolean bottomUp = false;
+
+    for (int level = 1; size > 0; level++) {
+      if (!bottomUp) {
+        long frontierArcs = 0;
+        for (int i = 0; i < size; i++) {
+          frontierArcs += degree(frontier[i]);
+        }
+
+        if (frontierArcs > unexplored / ALPHA) {
+          bottomUp = true;
+          Arrays.fill(frontierBits, 0L);
+          for (int i = 0; i < size; i++) {
+            frontierBits[frontier[i] >>> 6] |= 1L << frontier[i];
+          }
+        }
+      } else if (size < n / BETA) {
+        bottomUp = false;
+        size = 0;
+        for (int k = 0; k < frontierBits.length; k++) {
+          for (long word = frontierBits[k]; word != 0; word &= word - 1) {
+            frontier[size++] = (k << 6) + Long.numberOfTrailingZeros(word);
+          }
+        }
+      }
+
+      int found;
+      if (bottomUp) {
+        found = bottomUpStep(frontierBits, nextBits, level);
+        long[] t = frontierBits;
+        frontierBits = nextBits;
+        nextBits = t;
+        size = found;
+        unexplored -= explored(frontierBits);
+      } else {
+        found = topDownStep(frontier, size, next, level);
+        int[] t = frontier;
+        frontier = next;
+        next = t;
+        size = found;
+        for (int i = 0; i < size; i++) {
+          unexplored -= degree(frontier[i]);
+        }
+      }
+    }
+  }
+
+  private int topDownStep(int[] frontier, int size, int[] next, int level) {
+    int[] offsets = out.offsets;
+    int[] targets = out.targets;
+    int found = 0;
+
+    for (int i = 0; i < size; i++) {
+      int v = frontier[i];
+      for (int j = offsets[v]; j < offsets[v + 1]; j++) {
+        int w = targets[j];
+        if (!isVisited(w)) {
+          visit(w, v, level);
+          next[found++] = w;
+        }
+      }
+    }
+
+    return found;
+  }
+
+  private int bottomUpStep(long[] frontierBits, long[] nextBits, int level) {
+    int[] offsets = in.offsets;
+    int[] targets = in.targets;
+    int n = in.V();
+    int found = 0;
+
+    Arrays.fill(nextBits, 0L);
+    for (int w = 0; w < n; w++) {
+      if (isVisited(w)) {
+        continue;
+      }
+
+      for (int j = offsets[w]; j < offsets[w + 1]; j++) {
+        int v = targets[j];
+        if ((frontierBits[v >>> 6] & (1L << v)) != 0) {
+          visit(w, v, level);
+          nextBits[w >>> 6] |= 1L << w;
+          found++;
+          break;
+        }
+      }
+    }
+
+    return found;
+  }
+
+  private long explored(long[] bits) {
+    long arcs = 0;
+    for (int k = 0; k < bits.length; k++) {
+      for (long word = bits[k]; word != 0; word &= word - 1) {
+        arcs += degree((k << 6) + Long.numberOfTrailingZeros(word));
+      }
+    }
+    return arcs;
+  }
+
+  private int degree(int v) {
+    return out.offsets[v + 1] - out.offsets[v];
+  }
+
+  private boolean isVisited(int v) {
+    return (visited[v >>> 6] & (1L << v)) != 0;
+  }
+
+  private void visit(int v, int parent, int level) {
+    visited[v >>> 6] |= 1L << v;
+    edgeTo[v] = parent;
+    distTo[v] = level;
+    count++;
+  }
+
+  private void validateVertex(int v) {
+    if (v < 0 || v >= distTo.length) {
+      throw new IllegalArgumentException("Vertex must be present in graph");
+    }
+  }
+
+  /**
+   * Number of vertices reached, the source included.
+   *
+   * @return Number of reached vertices
+   */
+  public int count() {
+    return count;
+  }
+
+  public boolean marked(int v) {
+    validateVertex(v);
+    return distTo[v] != -1;
+  }
+
+  /**
+   * Number of arcs on a shortest path from the source to v.
+   *
+   * @param v Vertex
+   * @return Distance, or -1 if v is not reachable
+   * @throws IllegalArgumentException if v is not present in the graph
+   */
+  public int distTo(int v) {
+    validateVertex(v);
+    return distTo[v];
+  }
+
+  /**
+   * Vertex preceding v on a shortest path from the source.
+   *
+   * @param v Vertex
+   * @return Parent of v, or -1 for the source and unreachable vertices
+   * @throws IllegalArgumentException if v is not present in the graph
+   */
+  public int edgeTo(int v) {
+    validateVertex(v);
+    return edgeTo[v];
+  }
+
+  /**
+   * Distances of all vertices from the source.
+   *
+   * @return Copy of the distances, -1 for unreachable vertices
+   */
+  public int[] distances() {
+    return distTo.clone();
+  }
+
+  /**
+   * Parents of all vertices in the search tree.
+   *
+   * @return Copy of the parents, -1 for the source and unreachable vertices
+   */
+  public int[] parents() {
+    return edgeTo.clone();
+  }
+}
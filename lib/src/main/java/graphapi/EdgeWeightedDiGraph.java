@@ -48,6 +48,7 @@ public class EdgeWeightedDiGraph {
     validateVertex(v);
     validateVertex(a.to());
     adj[v].add(a);
+    arcs.add(a);
   }
 
   private void validateVertex(int v) {
@@ -0,0 +1,236 @@
+package graphapi;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * All-pairs shortest paths for dense edge weighted directed graphs.
+ *
+ * The distance matrix is stored row-major in a flat array and updated with the
+ * blocked (tiled) Floyd-Warshall algorithm: for every diagonal block the
+ * diagonal tile is closed first, then the tiles in its block row and column and
+ * finally all remaining tiles, the last two phases in parallel. Paths are
+ * reconstructed from a next-hop matrix.
+ */
+public class FloydWarshallDirectedSP {
+  private static final int DEFAULT_BLOCK = 64;
+
+  private final int n;
+  private final int block;
+  private final double[] distTo;
+  private final int[] next;
+  private final ForkJoinPool pool;
+  private boolean negativeCycle;
+
+  /**
+   * Compute all-pairs shortest paths on the common pool.
+   *
+   * @param g Edge weighted directed graph
+   * @throws IllegalArgumentException if g is null
+   */
+  public FloydWarshallDirectedSP(EdgeWeightedDiGraph g) {
+    this(g, DEFAULT_BLOCK, ForkJoinPool.commonPool());
+  }
+
+  /**
+   * Compute all-pairs shortest paths.
+   *
+   * @param g     Edge weighted directed graph
+   * @param block Side of a tile in vertices
+   * @param pool  Pool running the independent tiles
+   * @throws IllegalArgumentException if g or pool is null, block is not
+   *                                  positive or the matrix would not fit in
+   *                                  an array
+   */
+  public FloydWarshallDirectedSP(EdgeWeightedDiGraph g, int block, ForkJoinPool pool) {
+    if (g == null) {
+      throw new IllegalArgumentException("Graph cannot be null");
+    }
+
+    if (pool == null) {
+      throw new IllegalArgumentException("Pool cannot be null");
+    }
+
+    if (block <= 0) {
+      throw new IllegalArgumentException("Block size must be positive");
+    }
+
+    if ((long) g.V() * g.V() > Integer.MAX_VALUE) {
+      throw new IllegalArgumentException("Graph is too large for a dense distance matrix");
+    }
+
+    n = g.V();
+    this.block = block;
+    this.pool = pool;
+    distTo = new double[n * n];
+    next = new int[n * n];
+
+    Arrays.fill(distTo, Double.POSITIVE_INFINITY);
+    Arrays.fill(next, -1);
+
+    for (int v = 0; v < n; v++) {
+      distTo[v * n + v] = 0.0;
+      next[v * n + v] = v;
+    }
+
+    for (int v = 0; v < n; v++) {
+      for (WeightedArc a : g.adj(v)) {
+        int i = v * n + a.to();
+        if (a.weight() < distTo[i]) {
+          distTo[i] = a.weight();
+          next[i] = a.to();
+        }
+      }
+    }
+
+    find();
+
+    for (int v = 0; v < n; v++) {
+      if (distTo[v * n + v] < 0) {
+        negativeCycle = true;
+        break;
+      }
+    }
+  }
+
+  private void find() {
+    int blocks = (n + block - 1) / block;
+
+    for (int kb = 0; kb < blocks; kb++) {
+      final int k = kb;
+
+      relaxTile(k, k, k);
+
+      Parallel.forEach(pool, 0, 2 * blocks, 1, t -> {
+        int b = t >> 1;
+        if (b == k) {
+          return;
+        }
+
+        if ((t & 1) == 0) {
+          relaxTile(k, b, k);
+        } else {
+          relaxTile(b, k, k);
+        }
+      });
+
+      Parallel.forEach(pool, 0, blocks * blocks, 1, t -> {
+        int ib = t / blocks;
+        int jb = t % blocks;
+        if (ib != k && jb != k) {
+          relaxTile(ib, jb, k);
+        }
+      });
+    }
+  }
+
+  /**
+   * Relax tile (ib, jb) through the intermediate vertices of block kb.
+   */
+  private void relaxTile(int ib, int jb, int kb) {
+    int iLo = ib * block, iHi = Math.min(n, iLo + block);
+    int jLo = jb * block, jHi = Math.min(n, jLo + block);
+    int kLo = kb * block, kHi = Math.min(n, kLo + block);
+
+    for (int k = kLo; k < kHi; k++) {
+      int kRow = k * n;
+
+      for (int i = iLo; i < iHi; i++) {
+        int iRow = i * n;
+        double dik = distTo[iRow + k];
+        if (dik == Double.POSITIVE_INFINITY) {
+          continue;
+        }
+
+        int hop = next[iRow + k];
+        for (int j = jLo; j < jHi; j++) {
+          double d = dik + distTo[kRow + j];
+          if (d < distTo[iRow + j]) {
+            distTo[iRow + j] = d;
+            next[iRow + j] = hop;
+          }
+        }
+      }
+    }
+  }
+
+  private void validateVertex(int v) {
+    if (v < 0 || v >= n) {
+      throw new IllegalArgumentException("vertex is not in graph");
+    }
+  }
+
+  /**
+   * Check if the graph contains a cycle of negative weight. Distances and paths
+   * are meaningless if it does.
+   *
+   * @return True if there is a negative cycle, false otherwise
+   */
+  public boolean hasNegativeCycle() {
+    return negativeCycle;
+  }
+
+  /**
+   * Length of the shortest path from u to v.
+   *
+   * @param u Source vertex
+   * @param v Target vertex
+   * @return Distance, or positive infinity if v is not reachable from u
+   * @throws IllegalArgumentException if u or v is not present in the graph
+   */
+  public double distTo(int u, int v) {
+    validateVertex(u);
+    validateVertex(v);
+    return distTo[u * n + v];
+  }
+
+  /**
+   * Check if there is a path from u to v.
+   *
+   * @param u Source vertex
+   * @param v Target vertex
+   * @return True if v is reachable from u, false otherwise
+   * @throws IllegalArgumentException if u or v is not present in the graph
+   */
+  public boolean hasPath(int u, int v) {
+    validateVertex(u);
+    validateVertex(v);
+    return next[u * n + v] != -1;
+  }
+
+  /**
+   * Vertices on the shortest path from u to v, both ends included.
+   *
+   * @param u Source vertex
+   * @param v Target vertex
+   * @return Vertices of the path, or null if v is not reachable from u
+   * @throws IllegalArgumentException if u or v is not present in the graph
+   * @throws IllegalStateException    if the graph has a negative cycle
+   */
+  public int[] path(int u, int v) {
+    validateVertex(u);
+    validateVertex(v);
+
+    if (negativeCycle) {
+      throw new IllegalStateException("graph has a negative cycle");
+    }
+
+    if (next[u * n + v] == -1) {
+      return null;
+    }
+
+    int length = 1;
+    for (int x = u; x != v; x = next[x * n + v]) {
+      length++;
+    }
+
+    int[] p = new int[length];
+    int i = 0;
+    for (int x = u; x != v; x = next[x * n + v]) {
+      p[i++] = x;
+    }
+    p[i] = v;
+
+    return p;
+  }
+}
@@ -0,0 +1,243 @@
+package graphapi;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Reachability index with GRAIL interval labels (Yildirim, Chaoji and Zaki).
+ *
+ * The graph is condensed first. Each of d randomized depth-first traversals of
+ * the condensation gives every component an interval [low, post], where post
+ * is its post-order rank and low the smallest rank below it. If w is reachable
+ * from v, w's interval lies inside v's in every traversal, so one missing
+ * containment proves that w is unreachable. Component ids follow reverse
+ * topological order, checked when the index is built, which rules out every w
+ * with a larger component id, and the spanning tree of the first traversal
+ * proves reachability of tree descendants. Only queries that pass all these
+ * checks fall back to a DFS that skips every component whose interval does not
+ * contain w's.
+ *
+ * The index takes 2d + 1 ints per component next to the condensation. Queries
+ * share scratch arrays, so one index must not be queried from several threads
+ * at once.
+ */
+public class GrailIndex implements Reachability {
+  private static final int DEFAULT_TRAVERSALS = 3;
+  private static final long DEFAULT_SEED = 0x5DEECE66DL;
+
+  private final int[] componentOf;
+  private final CSR dag;
+  private final int d;
+  private final int[] low;
+  private final int[] post;
+  private final int[] treeLow;
+  private final int[] seen;
+  private final int[] stack;
+  private int query;
+
+  /**
+   * Build an index of a directed graph with the default number of traversals
+   * and a fixed seed, so that the same graph always gets the same labels.
+   *
+   * @param g Directed graph
+   * @throws IllegalArgumentException if g is null
+   */
+  public GrailIndex(DiGraph g) {
+    this(new StrongComponents(g), DEFAULT_TRAVERSALS, DEFAULT_SEED);
+  }
+
+  /**
+   * Build an index of a directed graph from its strongly connected components.
+   *
+   * @param scc        Strongly connected components of the graph
+   * @param traversals Number of interval labels per component
+   * @param seed       Seed of the randomized traversals
+   * @throws IllegalArgumentException if scc is null, its ids are not in
+   *                                  reverse topological order or traversals
+   *                                  is not positive
+   */
+  public GrailIndex(StrongComponents scc, int traversals, long seed) {
+    if (scc == null) {
+      throw new IllegalArgumentException("Components cannot be null");
+    }
+
+    if (traversals < 1) {
+      throw new IllegalArgumentException("Number of traversals must be positive");
+    }
+
+    componentOf = scc.componentOf();
+    dag = scc.condensationArrays();
+    StrongComponents.validateOrder(dag);
+    d = traversals;
+
+    int c = dag.V();
+    low = new int[c * d];
+    post = new int[c * d];
+    treeLow = new int[c];
+    seen = new int[c];
+    stack = new int[c];
+
+    Random random = new Random(seed);
+    for (int i = 0; i < d; i++) {
+      label(i, random);
+    }
+  }
+
+  /**
+   * One randomized post-order traversal of the condensation, visiting roots
+   * and children in random order.
+   */
+  private void label(int i, Random random) {
+    int c = dag.V();
+    int[] offsets = dag.offsets;
+    int[] targets = dag.targets;
+    int[] order = new int[c];
+    int[] call = new int[c];
+    int[] cursor = new int[c];
+    int[] shift = new int[c];
+    boolean[] visited = new boolean[c];
+    int rank = 0;
+
+    for (int k = 0; k < c; k++) {
+      order[k] = k;
+    }
+    for (int k = c - 1; k > 0; k--) {
+      int j = random.nextInt(k + 1);
+      int t = order[k];
+      order[k] = order[j];
+      order[j] = t;
+    }
+
+    for (int s : order) {
+      if (visited[s]) {
+        continue;
+      }
+
+      int top = 0;
+      call[top++] = s;
+      visited[s] = true;
+      enter(s, i, rank, random, cursor, shift);
+
+      while (top > 0) {
+        int v = call[top - 1];
+        int degree = offsets[v + 1] - offsets[v];
+
+        if (cursor[v] < degree) {
+          int w = targets[offsets[v] + (shift[v] + cursor[v]++) % degree];
+          if (!visited[w]) {
+            visited[w] = true;
+            enter(w, i, rank, random, cursor, shift);
+            call[top++] = w;
+          } else if (low[w * d + i] < low[v * d + i]) {
+            low[v * d + i] = low[w * d + i];
+          }
+          continue;
+        }
+
+        top--;
+        post[v * d + i] = rank++;
+        if (post[v * d + i] < low[v * d + i]) {
+          low[v * d + i] = post[v * d + i];
+        }
+
+        if (top > 0) {
+          int parent = call[top - 1];
+          if (low[v * d + i] < low[parent * d + i]) {
+            low[parent * d + i] = low[v * d + i];
+          }
+        }
+      }
+    }
+  }
+
+  private void enter(int v, int i, int rank, Random random, int[] cursor, int[] shift) {
+    int degree = dag.offsets[v + 1] - dag.offsets[v];
+    cursor[v] = 0;
+    shift[v] = degree > 1 ? random.nextInt(degree) : 0;
+    low[v * d + i] = Integer.MAX_VALUE;
+
+    // Post-order ranks of a spanning-tree subtree are contiguous and start at
+    // the rank current when its root is entered.
+    if (i == 0) {
+      treeLow[v] = rank;
+    }
+  }
+
+  @Override
+  public boolean reachable(int v, int w) {
+    validateVertex(v);
+    validateVertex(w);
+
+    int cv = componentOf[v];
+    int cw = componentOf[w];
+
+    if (cv == cw) {
+      return true;
+    }
+
+    if (cw > cv || !contains(cv, cw)) {
+      return false;
+    }
+
+    if (treeDescendant(cv, cw)) {
+      return true;
+    }
+
+    return search(cv, cw);
+  }
+
+  private boolean contains(int a, int b) {
+    for (int i = 0; i < d; i++) {
+      if (low[a * d + i] > low[b * d + i] || post[b * d + i] > post[a * d + i]) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private boolean treeDescendant(int a, int b) {
+    int p = post[b * d];
+    return treeLow[a] <= p && p <= post[a * d];
+  }
+
+  private boolean search(int from, int to) {
+    if (query == Integer.MAX_VALUE) {
+      Arrays.fill(seen, 0);
+      query = 0;
+    }
+    query++;
+
+    int top = 0;
+    stack[top++] = from;
+    seen[from] = query;
+
+    while (top > 0) {
+      int v = stack[--top];
+      for (int i = dag.offsets[v]; i < dag.offsets[v + 1]; i++) {
+        int w = dag.targets[i];
+        if (w == to) {
+          return true;
+        }
+
+        if (seen[w] == query || w < to || !contains(w, to)) {
+          continue;
+        }
+
+        if (treeDescendant(w, to)) {
+          return true;
+        }
+
+        seen[w] = query;
+        stack[top++] = w;
+      }
+    }
+
+    return false;
+  }
+
+  private void validateVertex(int v) {
+    if (v < 0 || v >= componentOf.length) {
+      throw new IllegalArgumentException("Vertex must be present in graph");
+    }
+  }
+}
@@ -4,7 +4,6 @@ import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashSet;
-import java.util.LinkedList;
 
 public class Graph {
   private class IntegerSet extends HashSet<Integer> {
@@ -32,6 +31,9 @@ public class Graph {
 
   private IntegerSet[] neighbours;
   private int edges;
+  private ConnectivityIndex connectivity;
+  private BiconnectedComponents blocks;
+  private Bipartition sides;
 
   /**
    * Create a new graph with no vertices.
@@ -157,14 +159,26 @@ public class Graph {
    * @param g     Graph
    * @param cores Array of core numbers
    * @param k     Core number
-   * @return Induced k-core
+   * @return Induced k-core, its vertices renumbered in increasing order
    */
   public static Graph induceKCore(Graph g, int[] cores, int k) {
-    Graph newGraph = new Graph(g);
+    int[] id = new int[g.V()];
+    int size = 0;
+
+    for (int v = 0; v < id.length; v++) {
+      id[v] = v < cores.length && cores[v] < k ? -1 : size++;
+    }
 
-    for (int i = 0; i < cores.length; i++) {
-      if (cores[i] < k) {
-        newGraph.removeVertex(i);
+    Graph newGraph = new Graph(size);
+    for (int v = 0; v < id.length; v++) {
+      if (id[v] == -1) {
+        continue;
+      }
+
+      for (int w : g.adj(v)) {
+        if (v <= w && id[w] != -1) {
+          newGraph.addEdge(id[v], id[w]);
+        }
       }
     }
 
@@ -201,6 +215,13 @@ public class Graph {
 
     newNeighbours[neighbours.length] = new IntegerSet();
     neighbours = newNeighbours;
+
+    if (connectivity != null) {
+      connectivity.addVertex();
+    }
+
+    blocks = null;
+    sides = null;
   }
 
   /**
@@ -227,6 +248,9 @@ public class Graph {
     }
 
     neighbours = newNeighbours;
+    connectivity = null;
+    blocks = null;
+    sides = null;
 
     for (IntegerSet neighs : neighbours) {
       neighs.remove((Integer) v);
@@ -248,6 +272,28 @@ public class Graph {
     neighbours[v].add(w);
     neighbours[w].add(v);
     edges++;
+
+    if (connectivity != null) {
+      connectivity.union(v, w);
+    }
+
+    blocks = null;
+    sides = null;
+  }
+
+  /**
+   * Check if there is an edge between vertices v and w.
+   *
+   * @param v Vertex
+   * @param w Vertex
+   * @return True if v and w are adjacent, false otherwise
+   * @throws IllegalArgumentException if v or w is not present in the graph
+   */
+  public boolean hasEdge(int v, int w) {
+    validateVertex(v);
+    validateVertex(w);
+
+    return neighbours[v].contains(w);
   }
 
   /**
@@ -265,6 +311,9 @@ public class Graph {
       neighbours[v].remove(w);
       neighbours[w].remove(v);
       edges--;
+      connectivity = null;
+      blocks = null;
+      sides = null;
       return true;
     }
 
@@ -336,13 +385,21 @@ public class Graph {
       throw new IllegalArgumentException("Vertices must be present in graph");
     }
 
-    for (int x : component(v)) {
-      if (x == w) {
-        return true;
-      }
+    return connectivity().connected(v, w);
+  }
+
+  /**
+   * Connectivity index of the graph. It is kept up to date as edges are added
+   * and rebuilt on the next query after an edge or vertex is removed.
+   *
+   * @return Connectivity index
+   */
+  private ConnectivityIndex connectivity() {
+    if (connectivity == null) {
+      connectivity = new ConnectivityIndex(this);
     }
 
-    return false;
+    return connectivity;
   }
 
   /**
@@ -358,27 +415,19 @@ public class Graph {
       throw new IllegalArgumentException("Vertices must be present in graph");
     }
 
-    boolean[] marker = new boolean[neighbours.length];
-    int[] edgeTo = new int[neighbours.length];
-    int[] distTo = new int[neighbours.length];
-
-    distTo[v] = 0;
-
-    dfsMarker(v, v, marker, edgeTo, distTo);
+    // A search per call keeps concurrent readers from sharing scratch arrays.
+    int[] p = new BidirectionalBFS(this).path(v, w);
 
-    if (!marker[w]) {
+    if (p == null) {
       return null;
     }
 
-    ArrayList<Integer> path = new ArrayList<>();
+    ArrayList<Integer> path = new ArrayList<>(p.length);
 
-    for (int x = w; x != v;) {
-      path.add(0, x);
-      x = edgeTo[x];
+    for (int x : p) {
+      path.add(x);
     }
 
-    path.add(0, v);
-
     return path;
   }
 
@@ -388,24 +437,7 @@ public class Graph {
    * @return Iterable of components
    */
   public Iterable<Iterable<Integer>> components() {
-    ArrayList<Iterable<Integer>> comps = new ArrayList<>();
-    OldBag<Integer> bag = new OldBag<>();
-    for (int i = 0; i < neighbours.length; i++) {
-      bag.add(i);
-    }
-
-    while (!bag.isEmpty()) {
-      int v = bag.pick();
-      Iterable<Integer> comp = component(v);
-
-      for (int w : comp) {
-        bag.remove(w);
-      }
-
-      comps.add(comp);
-    }
-
-    return comps;
+    return new ConnectedComponents(this).components();
   }
 
   /**
@@ -420,17 +452,12 @@ public class Graph {
       throw new IllegalArgumentException("Vertices must be present in graph");
     }
 
-    boolean[] marked = new boolean[neighbours.length];
-    int[] edgeTo = new int[neighbours.length];
-    int[] distTo = new int[neighbours.length];
-
-    distTo[v] = 0;
-
-    dfsMarker(v, v, marked, edgeTo, distTo);
+    ConnectivityIndex index = connectivity();
+    int root = index.find(v);
 
     HashSet<Integer> comp = new HashSet<>();
-    for (int i = 0; i < marked.length; i++) {
-      if (marked[i]) {
+    for (int i = 0; i < neighbours.length; i++) {
+      if (index.find(i) == root) {
         comp.add(i);
       }
     }
@@ -450,69 +477,39 @@ public class Graph {
       throw new IllegalArgumentException("Vertices must be present in graph");
     }
 
-    return dfsCountourFinder(v);
+    if (blocks == null) {
+      blocks = new BiconnectedComponents(this);
+    }
+
+    return blocks.onCycle(v);
   }
 
   /**
-   * DFS implementation specificaly used for finding contours which contain
-   * vertex v.
+   * Two-colouring of the graph, kept until the graph changes.
    *
-   * @param v Vertex
-   * @return True if v is in a contour, false otherwise
-   * @throws IllegalArgumentException if v is not present in the graph
+   * @return Bipartition of the graph
    */
-  public boolean dfsCountourFinder(int v) {
-    if (v < 0 || v >= neighbours.length) {
-      throw new IllegalArgumentException("Vertices must be present in graph");
-    }
-
-    LinkedList<Integer> s = new LinkedList<>();
-    boolean[] visited = new boolean[neighbours.length];
-    visited[v] = true;
-
-    for (int w : neighbours[v]) {
-      s.push(w);
+  Bipartition bipartition() {
+    if (sides == null) {
+      sides = new Bipartition(this);
     }
 
-    while (!s.isEmpty()) {
-      int w = s.pop();
-      visited[w] = true;
-
-      for (int x : neighbours[w]) {
-        if (!visited[x] && neighbours[v].contains(x)) {
-          return true;
-        }
-
-        if (!visited[x]) {
-          s.push(x);
-        }
-      }
-    }
-
-    return false;
+    return sides;
   }
 
   /**
-   * Use dfs to go over all vertices and mark them.
+   * DFS implementation specificaly used for finding contours which contain
+   * vertex v.
    *
-   * @param v      Current vertex
-   * @param w      Edge to vertex
-   * @param marked Array of marked vertices
-   * @param edgeTo Array of vertices that edge to the index vertex
-   * @param distTo Array of distances from vertex v
+   * @param v Vertex
+   * @return True if v is in a contour, false otherwise
+   * @throws IllegalArgumentException if v is not present in the graph
+   * @deprecated Use {@link #hasContours(int)}, which answers from the
+   *             biconnected components kept until the graph changes
    */
-  private void dfsMarker(int v, int w, boolean[] marked, int[] edgeTo, int[] distTo) {
-    if (marked[v]) {
-      return;
-    }
-
-    marked[v] = true;
-    edgeTo[v] = w;
-    distTo[v] = distTo[w] + 1;
-
-    for (Integer x : neighbours[v]) {
-      dfsMarker(x, v, marked, edgeTo, distTo);
-    }
+  @Deprecated
+  public boolean dfsCountourFinder(int v) {
+    return hasContours(v);
   }
 
   /**
@@ -527,39 +524,16 @@ public class Graph {
       throw new IllegalArgumentException("Vertices must be present in graph");
     }
 
-    Integer[] edgeTo = new Integer[neighbours.length];
+    DirectionOptimizingBFS bfs = new DirectionOptimizingBFS(this, v);
     Integer[] distTo = new Integer[neighbours.length];
 
-    bfsEdger(v, edgeTo, distTo);
-
-    return Arrays.asList(distTo);
-  }
-
-  /**
-   * Find distances to other vertices in graph from one vertex.
-   *
-   * @param v      Vertex
-   * @param edgeTo Array of vertices which are the edge to the corresponding index
-   * @param distTo Array of distances from vertex v
-   */
-  private void bfsEdger(int v, Integer[] edgeTo, Integer[] distTo) {
-    LinkedList<Integer> q = new LinkedList<>();
-    q.add(v);
-    edgeTo[v] = -1;
-    distTo[v] = 0;
-
-    while (!q.isEmpty()) {
-      v = q.removeFirst();
-
-      for (int w : neighbours[v]) {
-        if (edgeTo[w] == null) {
-          edgeTo[w] = v;
-          distTo[w] = distTo[v] + 1;
-
-          q.add(w);
-        }
+    for (int w = 0; w < distTo.length; w++) {
+      if (bfs.marked(w)) {
+        distTo[w] = bfs.distTo(w);
       }
     }
+
+    return Arrays.asList(distTo);
   }
 
   /**
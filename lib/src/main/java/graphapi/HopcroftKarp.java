@@ -0,0 +1,243 @@
+package graphapi;
+
+import java.util.Arrays;
+
+/**
+ * Maximum cardinality matching of a bipartite graph (Hopcroft and Karp).
+ *
+ * A greedy pass matches what it can, then every phase runs a breadth-first
+ * search from the free vertices of side 0 that stops at the first layer
+ * reaching a free vertex of side 1, and a depth-first search along that
+ * layering that augments a maximal set of vertex-disjoint shortest paths. Both
+ * searches use explicit arrays, and the depth-first search keeps an edge
+ * cursor per vertex across the whole phase, so a phase is O(E) and there are
+ * O(sqrt(V)) of them.
+ */
+public class HopcroftKarp {
+  private static final int INFINITY = Integer.MAX_VALUE;
+
+  private final CSR g;
+  private final int[] left;
+  private final int[] mate;
+  private final int[] dist;
+  private final int[] cursor;
+  private final int[] stack;
+  private int limit;
+  private int size;
+
+  /**
+   * Match a bipartite graph.
+   *
+   * @param g Graph
+   * @throws IllegalArgumentException if g is null or not bipartite
+   */
+  public HopcroftKarp(Graph g) {
+    this(CSR.of(g));
+  }
+
+  private HopcroftKarp(CSR g) {
+    this(g, new Bipartition(g));
+  }
+
+  /**
+   * Match a bipartite graph given by its adjacency arrays and a colouring of
+   * it.
+   *
+   * @param g     Adjacency arrays of an undirected graph
+   * @param sides Bipartition of the same graph
+   * @throws IllegalArgumentException if g or sides is null, sides does not
+   *                                  cover g or the graph is not bipartite
+   */
+  public HopcroftKarp(CSR g, Bipartition sides) {
+    if (g == null) {
+      throw new IllegalArgumentException("Graph cannot be null");
+    }
+
+    if (sides == null) {
+      throw new IllegalArgumentException("Bipartition cannot be null");
+    }
+
+    if (!sides.isBipartite()) {
+      throw new IllegalArgumentException("Graph must be bipartite");
+    }
+
+    if (sides.V() != g.V()) {
+      throw new IllegalArgumentException("Bipartition must cover the graph");
+    }
+
+    this.g = g;
+    int n = g.V();
+    left = sides.left();
+    mate = new int[n];
+    dist = new int[n];
+    cursor = new int[n];
+    stack = new int[left.length];
+    Arrays.fill(mate, -1);
+
+    greedy();
+    while (layer()) {
+      for (int u : left) {
+        cursor[u] = g.offsets[u];
+      }
+      for (int u : left) {
+        if (mate[u] == -1 && augment(u)) {
+          size++;
+        }
+      }
+    }
+  }
+
+  private void greedy() {
+    for (int u : left) {
+      for (int i = g.offsets[u]; i < g.offsets[u + 1]; i++) {
+        int w = g.targets[i];
+        if (mate[w] == -1) {
+          mate[u] = w;
+          mate[w] = u;
+          size++;
+          break;
+        }
+      }
+    }
+  }
+
+  /**
+   * Breadth-first search from the free vertices of side 0 over alternating
+   * paths, up to the first layer that reaches a free vertex of side 1. That
+   * layer becomes the limit: the length of every path augmented in the phase.
+   *
+   * @return True if an augmenting path exists
+   */
+  private boolean layer() {
+    // The cursors are reset before they are used, so they can hold the queue.
+    int[] queue = cursor;
+    int head = 0, tail = 0;
+
+    for (int u : left) {
+      if (mate[u] == -1) {
+        dist[u] = 0;
+        queue[tail++] = u;
+      } else {
+        dist[u] = INFINITY;
+      }
+    }
+
+    limit = INFINITY;
+    while (head < tail) {
+      int u = queue[head++];
+      if (dist[u] >= limit) {
+        break;
+      }
+
+      for (int i = g.offsets[u]; i < g.offsets[u + 1]; i++) {
+        int m = mate[g.targets[i]];
+        if (m == -1) {
+          limit = dist[u] + 1;
+        } else if (dist[m] == INFINITY) {
+          dist[m] = dist[u] + 1;
+          queue[tail++] = m;
+        }
+      }
+    }
+
+    return limit != INFINITY;
+  }
+
+  /**
+   * Depth-first search along the layering for a shortest augmenting path from
+   * the free vertex s, flipping it if found. Vertices that lead nowhere leave
+   * the layering for the rest of the phase.
+   */
+  private boolean augment(int s) {
+    int top = 0;
+    stack[top++] = s;
+
+    while (top > 0) {
+      int u = stack[top - 1];
+
+      if (cursor[u] == g.offsets[u + 1]) {
+        dist[u] = INFINITY;
+        top--;
+        if (top > 0) {
+          cursor[stack[top - 1]]++;
+        }
+        continue;
+      }
+
+      int m = mate[g.targets[cursor[u]]];
+      if (m == -1 && dist[u] + 1 == limit) {
+        for (int k = 0; k < top; k++) {
+          int x = stack[k];
+          int w = g.targets[cursor[x]];
+          mate[x] = w;
+          mate[w] = x;
+        }
+        return true;
+      }
+
+      if (m != -1 && dist[m] == dist[u] + 1 && dist[m] < limit) {
+        stack[top++] = m;
+      } else {
+        cursor[u]++;
+      }
+    }
+
+    return false;
+  }
+
+  private void validateVertex(int v) {
+    if (v < 0 || v >= mate.length) {
+      throw new IllegalArgumentException("Vertex must be present in graph");
+    }
+  }
+
+  /**
+   * Number of edges in the matching.
+   *
+   * @return Size of a maximum matching
+   */
+  public int size() {
+    return size;
+  }
+
+  /**
+   * Vertex matched to v.
+   *
+   * @param v Vertex
+   * @return Mate of v, or -1 if v is unmatched
+   * @throws IllegalArgumentException if v is not present in the graph
+   */
+  public int mate(int v) {
+    validateVertex(v);
+    return mate[v];
+  }
+
+  /**
+   * Check if v is matched.
+   *
+   * @param v Vertex
+   * @return True if v is matched, false otherwise
+   * @throws IllegalArgumentException if v is not present in the graph
+   */
+  public boolean isMatched(int v) {
+    return mate(v) != -1;
+  }
+
+  /**
+   * Matched edges as consecutive pairs of endpoints, the vertex on side 0
+   * first, in increasing order of that vertex.
+   *
+   * @return Endpoints of the matched edges
+   */
+  public int[] matching() {
+    int[] pairs = new int[2 * size];
+    int k = 0;
+    for (int u : left) {
+      if (mate[u] != -1) {
+        pairs[k++] = u;
+        pairs[k++] = mate[u];
+      }
+    }
+    return pairs;
+  }
+}
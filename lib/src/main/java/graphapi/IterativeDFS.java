@@ -0,0 +1,248 @@
+package graphapi;
+
+import java.util.Arrays;
+
+/**
+ * Depth-first search driven by an explicit stack.
+ *
+ * The stack and the per-vertex neighbour cursors are plain int arrays, so the
+ * search depth is limited only by the number of vertices and not by the thread
+ * stack. Discovery and finish times share one clock, as in the classic
+ * recursive formulation. One instance may run several searches; vertices
+ * marked by an earlier search are not visited again.
+ */
+public class IterativeDFS {
+  /**
+   * Callbacks invoked while searching.
+   */
+  public interface Visitor {
+    /**
+     * Called when v is discovered.
+     *
+     * @param v      Discovered vertex
+     * @param parent Vertex v was reached from, or -1 for a source
+     * @return False to stop the whole search, true to continue
+     */
+    default boolean preorder(int v, int parent) {
+      return true;
+    }
+
+    /**
+     * Called when all neighbours of v have been explored.
+     *
+     * @param v      Finished vertex
+     * @param parent Vertex v was reached from, or -1 for a source
+     */
+    default void postorder(int v, int parent) {
+    }
+  }
+
+  private static final Visitor NO_VISITOR = new Visitor() {
+  };
+
+  private final CSR g;
+  private final boolean[] marked;
+  private final int[] edgeTo;
+  private final int[] discovery;
+  private final int[] finish;
+  private final int[] stack;
+  private final int[] cursor;
+  private int clock;
+  private int count;
+  private boolean stopped;
+
+  /**
+   * Prepare a search over a graph.
+   *
+   * @param g Adjacency arrays of the graph
+   * @throws IllegalArgumentException if g is null
+   */
+  public IterativeDFS(CSR g) {
+    if (g == null) {
+      throw new IllegalArgumentException("Graph cannot be null");
+    }
+
+    this.g = g;
+    int n = g.V();
+    marked = new boolean[n];
+    edgeTo = new int[n];
+    discovery = new int[n];
+    finish = new int[n];
+    stack = new int[n];
+    cursor = new int[n];
+
+    Arrays.fill(edgeTo, -1);
+    Arrays.fill(discovery, -1);
+    Arrays.fill(finish, -1);
+  }
+
+  /**
+   * Search from vertex v.
+   *
+   * @param v Source vertex
+   * @return This search
+   * @throws IllegalArgumentException if v is not present in the graph
+   */
+  public IterativeDFS search(int v) {
+    return search(v, NO_VISITOR);
+  }
+
+  /**
+   * Search from vertex v, reporting vertices to the visitor.
+   *
+   * @param v       Source vertex
+   * @param visitor Visitor
+   * @return This search
+   * @throws IllegalArgumentException if v is not present in the graph or the
+   *                                  visitor is null
+   */
+  public IterativeDFS search(int v, Visitor visitor) {
+    validateVertex(v);
+
+    if (visitor == null) {
+      throw new IllegalArgumentException("Visitor cannot be null");
+    }
+
+    if (!stopped && !marked[v]) {
+      run(v, visitor);
+    }
+
+    return this;
+  }
+
+  /**
+   * Search from every unmarked vertex in increasing order, reporting vertices
+   * to the visitor.
+   *
+   * @param visitor Visitor
+   * @return This search
+   * @throws IllegalArgumentException if the visitor is null
+   */
+  public IterativeDFS searchAll(Visitor visitor) {
+    if (visitor == null) {
+      throw new IllegalArgumentException("Visitor cannot be null");
+    }
+
+    for (int v = 0; v < marked.length && !stopped; v++) {
+      if (!marked[v]) {
+        run(v, visitor);
+      }
+    }
+
+    return this;
+  }
+
+  private void run(int s, Visitor visitor) {
+    int[] offsets = g.offsets;
+    int[] targets = g.targets;
+    int top = 0;
+
+    if (!discover(s, -1, visitor)) {
+      return;
+    }
+    stack[top++] = s;
+
+    while (top > 0) {
+      int v = stack[top - 1];
+      int end = offsets[v + 1];
+      int i = cursor[v];
+
+      while (i < end && marked[targets[i]]) {
+        i++;
+      }
+
+      if (i < end) {
+        int w = targets[i];
+        cursor[v] = i + 1;
+        edgeTo[w] = v;
+
+        if (!discover(w, v, visitor)) {
+          return;
+        }
+        stack[top++] = w;
+      } else {
+        cursor[v] = end;
+        top--;
+        finish[v] = clock++;
+        visitor.postorder(v, edgeTo[v]);
+      }
+    }
+  }
+
+  private boolean discover(int v, int parent, Visitor visitor) {
+    marked[v] = true;
+    discovery[v] = clock++;
+    cursor[v] = g.offsets[v];
+    count++;
+
+    if (!visitor.preorder(v, parent)) {
+      stopped = true;
+      return false;
+    }
+
+    return true;
+  }
+
+  private void validateVertex(int v) {
+    if (v < 0 || v >= marked.length) {
+      throw new IllegalArgumentException("Vertex must be present in graph");
+    }
+  }
+
+  /**
+   * Check if a visitor stopped the search early.
+   *
+   * @return True if the search was stopped, false otherwise
+   */
+  public boolean stopped() {
+    return stopped;
+  }
+
+  /**
+   * Number of vertices reached.
+   *
+   * @return Number of marked vertices
+   */
+  public int count() {
+    return count;
+  }
+
+  public boolean marked(int v) {
+    validateVertex(v);
+    return marked[v];
+  }
+
+  /**
+   * Vertex from which v was discovered.
+   *
+   * @param v Vertex
+   * @return Parent of v in the search forest, or -1 for sources and unmarked
+   *         vertices
+   */
+  public int edgeTo(int v) {
+    validateVertex(v);
+    return edgeTo[v];
+  }
+
+  /**
+   * Time at which v was discovered.
+   *
+   * @param v Vertex
+   * @return Discovery time, or -1 if v was not reached
+   */
+  public int discovery(int v) {
+    validateVertex(v);
+    return discovery[v];
+  }
+
+  /**
+   * Time at which all neighbours of v were explored.
+   *
+   * @param v Vertex
+   * @return Finish time, or -1 if v was not finished
+   */
+  public int finish(int v) {
+    validateVertex(v);
+    return finish[v];
+  }
+}
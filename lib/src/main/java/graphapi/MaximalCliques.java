@@ -0,0 +1,384 @@
+package graphapi;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Maximal clique enumeration by Bron-Kerbosch with pivoting over a degeneracy
+ * ordering (Eppstein, Loeffler and Strash).
+ *
+ * Every vertex v starts its own search: the candidates are its neighbours
+ * after it in the Batagelj-Zaversnik peeling order, at most the degeneracy of
+ * the graph, and the excluded set its neighbours before it, keeping only those
+ * adjacent to some candidate. Both sets are renumbered locally and stored as
+ * bitsets with one adjacency row per vertex, so every step of the search is a
+ * few word-wise ANDs. The search picks the pivot covering the most candidates
+ * (Tomita, Tanaka and Takahashi) and runs on an explicit stack of levels whose
+ * depth is bounded by the size of the largest clique.
+ *
+ * The searches of different vertices are independent and run on a fork/join
+ * pool. Cliques are handed to the visitor as they are found, possibly from
+ * several threads at once. Self-loops and parallel edges are ignored.
+ */
+public class MaximalCliques {
+  private static final int GRAIN = 16;
+
+  /**
+   * Receives every maximal clique.
+   */
+  public interface Visitor {
+    /**
+     * Called once per maximal clique, possibly from several threads at once.
+     *
+     * @param vertices Vertices of the clique in increasing order, owned by the
+     *                 visitor
+     */
+    void clique(int[] vertices);
+  }
+
+  private final CSR g;
+  private final int[] position;
+  private final int minSize;
+  private final Visitor visitor;
+
+  private MaximalCliques(CSR g, int minSize, Visitor visitor) {
+    this.g = g;
+    this.minSize = minSize;
+    this.visitor = visitor;
+
+    int[] order = Algorithms.peel(g)[1];
+    position = new int[order.length];
+    for (int p = 0; p < order.length; p++) {
+      position[order[p]] = p;
+    }
+  }
+
+  /**
+   * Enumerate the maximal cliques of a graph on the common pool.
+   *
+   * @param g       Graph
+   * @param visitor Visitor receiving the cliques
+   * @throws IllegalArgumentException if g or visitor is null
+   */
+  public static void enumerate(Graph g, Visitor visitor) {
+    enumerate(g, 1, visitor);
+  }
+
+  /**
+   * Enumerate the maximal cliques of a graph with at least minSize vertices
+   * on the common pool.
+   *
+   * @param g       Graph
+   * @param minSize Smallest clique to report
+   * @param visitor Visitor receiving the cliques
+   * @throws IllegalArgumentException if g or visitor is null
+   */
+  public static void enumerate(Graph g, int minSize, Visitor visitor) {
+    enumerate(CSR.of(g), minSize, ForkJoinPool.commonPool(), visitor);
+  }
+
+  /**
+   * Enumerate the maximal cliques with at least minSize vertices of a graph
+   * given by its adjacency arrays.
+   *
+   * @param g       Adjacency arrays of an undirected graph
+   * @param minSize Smallest clique to report
+   * @param pool    Pool to run on
+   * @param visitor Visitor receiving the cliques
+   * @throws IllegalArgumentException if g, pool or visitor is null
+   */
+  public static void enumerate(CSR g, int minSize, ForkJoinPool pool, Visitor visitor) {
+    if (g == null) {
+      throw new IllegalArgumentException("Graph cannot be null");
+    }
+
+    if (pool == null) {
+      throw new IllegalArgumentException("Pool cannot be null");
+    }
+
+    if (visitor == null) {
+      throw new IllegalArgumentException("Visitor cannot be null");
+    }
+
+    MaximalCliques search = new MaximalCliques(g.simple(), minSize, visitor);
+    Parallel.forEach(pool, 0, g.V(), GRAIN, search::expand);
+  }
+
+  /**
+   * Number of maximal cliques of a graph, counted on the common pool.
+   *
+   * @param g Graph
+   * @return Number of maximal cliques
+   * @throws IllegalArgumentException if g is null
+   */
+  public static long count(Graph g) {
+    AtomicLong count = new AtomicLong();
+    enumerate(g, clique -> count.incrementAndGet());
+    return count.get();
+  }
+
+  /**
+   * Report every maximal clique whose first vertex in the peeling order is v.
+   */
+  private void expand(int v) {
+    int[] t = g.targets;
+    int from = g.offsets[v], to = g.offsets[v + 1];
+
+    int p = 0, x = 0;
+    for (int i = from; i < to; i++) {
+      if (position[t[i]] > position[v]) {
+        p++;
+      } else {
+        x++;
+      }
+    }
+
+    if (p == 0) {
+      if (x == 0 && minSize <= 1) {
+        visitor.clique(new int[] { v });
+      }
+      return;
+    }
+
+    if (p + 1 < minSize) {
+      return;
+    }
+
+    int[] later = new int[p];
+    int[] earlier = new int[x];
+    p = 0;
+    x = 0;
+    for (int i = from; i < to; i++) {
+      if (position[t[i]] > position[v]) {
+        later[p++] = t[i];
+      } else {
+        earlier[x++] = t[i];
+      }
+    }
+
+    // Keep only the earlier neighbours adjacent to some candidate.
+    int[] keep = new int[x];
+    Arrays.fill(keep, -1);
+    for (int u : later) {
+      intersect(u, earlier, keep, null);
+    }
+    int kept = 0;
+    for (int j = 0; j < x; j++) {
+      if (keep[j] != -1) {
+        keep[j] = kept++;
+      }
+    }
+
+    int pw = (p + 63) >>> 6;
+    int xw = Math.max(1, (kept + 63) >>> 6);
+    long[][] pp = new long[p][pw];
+    long[][] px = new long[p][xw];
+    long[][] xp = new long[kept][pw];
+    for (int i = 0; i < p; i++) {
+      intersect(later[i], later, null, pp[i]);
+      intersect(later[i], earlier, keep, px[i]);
+      for (int j = next(px[i], 0, 0); j >= 0; j = next(px[i], 0, j + 1)) {
+        xp[j][i >>> 6] |= 1L << i;
+      }
+    }
+
+    new Search(v, later, pp, px, xp, kept).run();
+  }
+
+  /**
+   * Mark the positions of list that are neighbours of u, either by numbering
+   * them in keep or by setting their bit, renumbered through keep if given.
+   */
+  private void intersect(int u, int[] list, int[] keep, long[] bits) {
+    int[] t = g.targets;
+    int i = g.offsets[u], end = g.offsets[u + 1];
+    for (int k = 0; k < list.length && i < end; k++) {
+      i = CSR.gallop(t, i, end, list[k]);
+      if (i < end && t[i] == list[k]) {
+        if (bits == null) {
+          keep[k] = 0;
+        } else {
+          int b = keep == null ? k : keep[k];
+          bits[b >>> 6] |= 1L << b;
+        }
+      }
+    }
+  }
+
+  /**
+   * First set bit at or after from in the words [offset, offset + length) of
+   * bits, or -1.
+   */
+  private static int next(long[] bits, int offset, int from, int length) {
+    int w = from >>> 6;
+    if (w >= length) {
+      return -1;
+    }
+
+    long word = bits[offset + w] & (-1L << from);
+    while (word == 0) {
+      if (++w == length) {
+        return -1;
+      }
+      word = bits[offset + w];
+    }
+    return (w << 6) + Long.numberOfTrailingZeros(word);
+  }
+
+  private static int next(long[] bits, int offset, int from) {
+    return next(bits, offset, from, bits.length - offset);
+  }
+
+  /**
+   * Pivoting Bron-Kerbosch below one outer vertex. Level l holds the
+   * candidates, the excluded candidates of earlier branches, the excluded
+   * earlier neighbours and the branches still to try, each a run of words in
+   * a flat array.
+   */
+  private class Search {
+    private final int v;
+    private final int[] later;
+    private final long[][] pp, px, xp;
+    private final int pw, xw;
+    private final long[] cand, doneP, doneX, todo;
+    private final int[] cursor, branch;
+
+    Search(int v, int[] later, long[][] pp, long[][] px, long[][] xp, int kept) {
+      this.v = v;
+      this.later = later;
+      this.pp = pp;
+      this.px = px;
+      this.xp = xp;
+      int p = later.length;
+      pw = pp[0].length;
+      xw = px[0].length;
+
+      int levels = p + 1;
+      cand = new long[levels * pw];
+      doneP = new long[levels * pw];
+      doneX = new long[levels * xw];
+      todo = new long[levels * pw];
+      cursor = new int[levels];
+      branch = new int[levels];
+
+      for (int i = 0; i < p; i++) {
+        cand[i >>> 6] |= 1L << i;
+      }
+      for (int j = 0; j < kept; j++) {
+        doneX[j >>> 6] |= 1L << j;
+      }
+    }
+
+    void run() {
+      pivot(0);
+      int l = 0;
+
+      while (l >= 0) {
+        int q = next(todo, l * pw, cursor[l], pw);
+        if (q < 0) {
+          l--;
+          if (l >= 0) {
+            exclude(l, branch[l]);
+          }
+          continue;
+        }
+
+        cursor[l] = q + 1;
+        branch[l] = q;
+
+        int c = (l + 1) * pw, d = (l + 1) * xw;
+        long any = 0, excluded = 0;
+        int size = 0;
+        for (int k = 0; k < pw; k++) {
+          cand[c + k] = cand[l * pw + k] & pp[q][k];
+          doneP[c + k] = doneP[l * pw + k] & pp[q][k];
+          any |= cand[c + k];
+          excluded |= doneP[c + k];
+          size += Long.bitCount(cand[c + k]);
+        }
+        for (int k = 0; k < xw; k++) {
+          doneX[d + k] = doneX[l * xw + k] & px[q][k];
+          excluded |= doneX[d + k];
+        }
+
+        if (any == 0) {
+          if (excluded == 0 && l + 2 >= minSize) {
+            report(l + 1);
+          }
+          exclude(l, q);
+        } else if (l + 2 + size < minSize) {
+          exclude(l, q);
+        } else {
+          pivot(++l);
+        }
+      }
+    }
+
+    /**
+     * Move candidate q of level l into its excluded set.
+     */
+    private void exclude(int l, int q) {
+      cand[l * pw + (q >>> 6)] &= ~(1L << q);
+      doneP[l * pw + (q >>> 6)] |= 1L << q;
+    }
+
+    /**
+     * Choose the vertex adjacent to the most candidates of level l and branch
+     * on the candidates it misses.
+     */
+    private void pivot(int l) {
+      int c = l * pw;
+      long[] best = null;
+      int most = -1;
+
+      for (int i = next(cand, c, 0, pw); i >= 0; i = next(cand, c, i + 1, pw)) {
+        int covered = covered(pp[i], c);
+        if (covered > most) {
+          most = covered;
+          best = pp[i];
+        }
+      }
+      for (int i = next(doneP, c, 0, pw); i >= 0; i = next(doneP, c, i + 1, pw)) {
+        int covered = covered(pp[i], c);
+        if (covered > most) {
+          most = covered;
+          best = pp[i];
+        }
+      }
+      for (int j = next(doneX, l * xw, 0, xw); j >= 0; j = next(doneX, l * xw, j + 1, xw)) {
+        int covered = covered(xp[j], c);
+        if (covered > most) {
+          most = covered;
+          best = xp[j];
+        }
+      }
+
+      for (int k = 0; k < pw; k++) {
+        todo[c + k] = cand[c + k] & ~best[k];
+      }
+      cursor[l] = 0;
+    }
+
+    private int covered(long[] row, int c) {
+      int covered = 0;
+      for (int k = 0; k < pw; k++) {
+        covered += Long.bitCount(cand[c + k] & row[k]);
+      }
+      return covered;
+    }
+
+    /**
+     * Hand v and the branches of levels 0 to l - 1 to the visitor.
+     */
+    private void report(int l) {
+      int[] clique = new int[l + 1];
+      clique[0] = v;
+      for (int k = 0; k < l; k++) {
+        clique[k + 1] = later[branch[k]];
+      }
+      Arrays.sort(clique);
+      visitor.clique(clique);
+    }
+  }
+}
@@ -0,0 +1,221 @@
+package graphapi;
+
+import java.util.Arrays;
+
+/**
+ * Breadth-first searches from many sources at once (MS-BFS, Then et al.).
+ *
+ * Sources are processed in batches of 64. Every vertex keeps one long per
+ * state, with bit i standing for the i-th source of the batch, so a single
+ * scan of an adjacency list advances all searches of the batch that have the
+ * vertex in their frontier. Per source it reports the sum of distances and the
+ * number of reached vertices, and optionally the full distance array.
+ */
+public class MultiSourceBFS {
+  private static final int LANES = 64;
+
+  private final CSR g;
+  private final int[] sources;
+  private final long[] distanceSum;
+  private final int[] reached;
+  private final int[][] distTo;
+
+  /**
+   * Search from every source, keeping only the aggregates.
+   *
+   * @param g       Graph
+   * @param sources Source vertices
+   * @throws IllegalArgumentException if g or sources is null or a source is not
+   *                                  present in the graph
+   */
+  public MultiSourceBFS(Graph g, int[] sources) {
+    this(CSR.of(g), sources, false);
+  }
+
+  /**
+   * Search from every source.
+   *
+   * @param g             Adjacency arrays of the graph
+   * @param sources       Source vertices
+   * @param keepDistances Whether to keep the distance array of every source
+   * @throws IllegalArgumentException if g or sources is null or a source is not
+   *                                  present in the graph
+   */
+  public MultiSourceBFS(CSR g, int[] sources, boolean keepDistances) {
+    if (g == null) {
+      throw new IllegalArgumentException("Graph cannot be null");
+    }
+
+    if (sources == null) {
+      throw new IllegalArgumentException("Sources cannot be null");
+    }
+
+    for (int s : sources) {
+      if (s < 0 || s >= g.V()) {
+        throw new IllegalArgumentException("Vertices must be present in graph");
+      }
+    }
+
+    this.g = g;
+    this.sources = sources.clone();
+    distanceSum = new long[sources.length];
+    reached = new int[sources.length];
+    distTo = keepDistances ? new int[sources.length][] : null;
+
+    int n = g.V();
+    long[] seen = new long[n];
+    long[] visit = new long[n];
+    long[] visitNext = new long[n];
+
+    for (int from = 0; from < sources.length; from += LANES) {
+      int to = Math.min(sources.length, from + LANES);
+
+      if (from > 0) {
+        Arrays.fill(seen, 0L);
+        Arrays.fill(visit, 0L);
+        Arrays.fill(visitNext, 0L);
+      }
+
+      search(from, to, seen, visit, visitNext);
+    }
+  }
+
+  private void search(int from, int to, long[] seen, long[] visit, long[] visitNext) {
+    int n = g.V();
+    int[] offsets = g.offsets;
+    int[] targets = g.targets;
+
+    for (int i = from; i < to; i++) {
+      int s = sources[i];
+      long bit = 1L << (i - from);
+      seen[s] |= bit;
+      visit[s] |= bit;
+      reached[i] = 1;
+
+      if (distTo != null) {
+        distTo[i] = new int[n];
+        Arrays.fill(distTo[i], -1);
+        distTo[i][s] = 0;
+      }
+    }
+
+    for (int level = 1;; level++) {
+      boolean active = false;
+
+      for (int v = 0; v < n; v++) {
+        long frontier = visit[v];
+        if (frontier == 0) {
+          continue;
+        }
+
+        for (int j = offsets[v]; j < offsets[v + 1]; j++) {
+          int w = targets[j];
+          long discovered = frontier & ~seen[w];
+          if (discovered != 0) {
+            visitNext[w] |= discovered;
+          }
+        }
+      }
+
+      for (int w = 0; w < n; w++) {
+        long discovered = visitNext[w];
+        if (discovered == 0) {
+          continue;
+        }
+
+        active = true;
+        seen[w] |= discovered;
+
+        for (long bits = discovered; bits != 0; bits &= bits - 1) {
+          int i = from + Long.numberOfTrailingZeros(bits);
+          distanceSum[i] += level;
+          reached[i]++;
+
+          if (distTo != null) {
+            distTo[i][w] = level;
+          }
+        }
+      }
+
+      if (!active) {
+        return;
+      }
+
+      long[] t = visit;
+      visit = visitNext;
+      visitNext = t;
+      Arrays.fill(visitNext, 0L);
+    }
+  }
+
+  private void validateSource(int i) {
+    if (i < 0 || i >= sources.length) {
+      throw new IllegalArgumentException("Source index out of range");
+    }
+  }
+
+  /**
+   * Number of sources.
+   *
+   * @return Number of sources
+   */
+  public int size() {
+    return sources.length;
+  }
+
+  /**
+   * Sum of the distances from the i-th source to every vertex it reaches.
+   *
+   * @param i Index of the source
+   * @return Sum of distances
+   * @throws IllegalArgumentException if there is no i-th source
+   */
+  public long distanceSum(int i) {
+    validateSource(i);
+    return distanceSum[i];
+  }
+
+  /**
+   * Number of vertices reached from the i-th source, the source included.
+   *
+   * @param i Index of the source
+   * @return Number of reached vertices
+   * @throws IllegalArgumentException if there is no i-th source
+   */
+  public int reached(int i) {
+    validateSource(i);
+    return reached[i];
+  }
+
+  /**
+   * Closeness centrality of the i-th source within the part of the graph it
+   * reaches.
+   *
+   * @param i Index of the source
+   * @return Number of other reached vertices divided by the distance sum, or 0
+   *         if the source reaches nothing
+   * @throws IllegalArgumentException if there is no i-th source
+   */
+  public double closeness(int i) {
+    validateSource(i);
+    return distanceSum[i] == 0 ? 0.0 : (reached[i] - 1) / (double) distanceSum[i];
+  }
+
+  /**
+   * Distances from the i-th source.
+   *
+   * @param i Index of the source
+   * @return Distances, -1 for unreachable vertices
+   * @throws IllegalArgumentException if there is no i-th source
+   * @throws IllegalStateException    if distances were not kept
+   */
+  public int[] distances(int i) {
+    validateSource(i);
+
+    if (distTo == null) {
+      throw new IllegalStateException("distances were not kept");
+    }
+
+    return distTo[i].clone();
+  }
+}
@@ -0,0 +1,153 @@
+package graphapi;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.IntConsumer;
+
+/**
+ * Small helpers for running index ranges on a fork/join pool.
+ */
+class Parallel {
+  interface RangeAction {
+    void apply(int from, int to);
+  }
+
+  interface GatherAction {
+    void apply(int i, Buffer out);
+  }
+
+  /**
+   * Growable int list filled by one chunk of a gather.
+   */
+  static class Buffer {
+    private int[] items;
+    private int size;
+
+    Buffer(int capacity) {
+      items = new int[Math.max(16, capacity)];
+    }
+
+    void add(int v) {
+      if (size == items.length) {
+        items = Arrays.copyOf(items, 2 * size);
+      }
+      items[size++] = v;
+    }
+  }
+
+  private static class RangeTask extends RecursiveAction {
+    private static final long serialVersionUID = 1L;
+
+    private final int from, to, grain;
+    private final RangeAction action;
+
+    RangeTask(int from, int to, int grain, RangeAction action) {
+      this.from = from;
+      this.to = to;
+      this.grain = grain;
+      this.action = action;
+    }
+
+    @Override
+    protected void compute() {
+      if (to - from <= grain) {
+        action.apply(from, to);
+        return;
+      }
+
+      int mid = from + (to - from) / 2;
+      invokeAll(new RangeTask(from, mid, grain, action), new RangeTask(mid, to, grain, action));
+    }
+  }
+
+  private Parallel() {
+  }
+
+  /**
+   * Split [from, to) into chunks of at most grain indices and run the action on
+   * each chunk.
+   *
+   * @param pool   Pool to run on
+   * @param from   First index (inclusive)
+   * @param to     Last index (exclusive)
+   * @param grain  Maximum chunk size
+   * @param action Action applied to every chunk
+   */
+  static void forRange(ForkJoinPool pool, int from, int to, int grain, RangeAction action) {
+    if (to <= from) {
+      return;
+    }
+
+    if (to - from <= grain) {
+      action.apply(from, to);
+      return;
+    }
+
+    pool.invoke(new RangeTask(from, to, Math.max(1, grain), action));
+  }
+
+  /**
+   * Run the body for every index in [from, to).
+   *
+   * @param pool  Pool to run on
+   * @param from  First index (inclusive)
+   * @param to    Last index (exclusive)
+   * @param grain Maximum chunk size
+   * @param body  Body applied to every index
+   */
+  static void forEach(ForkJoinPool pool, int from, int to, int grain, IntConsumer body) {
+    forRange(pool, from, to, grain, (lo, hi) -> {
+      for (int i = lo; i < hi; i++) {
+        body.accept(i);
+      }
+    });
+  }
+
+  /**
+   * Chunk size that gives every worker of the pool several chunks of n items.
+   *
+   * @param pool    Pool to run on
+   * @param n       Number of items
+   * @param minimum Smallest chunk worth a task of its own
+   * @return Chunk size
+   */
+  static int grain(ForkJoinPool pool, int n, int minimum) {
+    return Math.max(minimum, n / (pool.getParallelism() * 8));
+  }
+
+  /**
+   * Run the action on every index of [0, size) in parallel chunks and
+   * concatenate what the chunks emit, in chunk order.
+   *
+   * @param pool    Pool to run on
+   * @param size    Number of indices
+   * @param minimum Smallest chunk worth a task of its own
+   * @param action  Action applied to every index
+   * @return Emitted values
+   */
+  static int[] gather(ForkJoinPool pool, int size, int minimum, GatherAction action) {
+    int chunk = grain(pool, size, minimum);
+    int chunks = (size + chunk - 1) / chunk;
+    Buffer[] buffers = new Buffer[chunks];
+
+    forEach(pool, 0, chunks, 1, c -> {
+      int from = c * chunk;
+      int to = Math.min(size, from + chunk);
+      Buffer out = new Buffer(to - from);
+      for (int i = from; i < to; i++) {
+        action.apply(i, out);
+      }
+      buffers[c] = out;
+    });
+
+    int[] start = new int[chunks + 1];
+    for (int c = 0; c < chunks; c++) {
+      start[c + 1] = start[c] + buffers[c].size;
+    }
+
+    int[] all = new int[start[chunks]];
+    forEach(pool, 0, chunks, 1, c -> System.arraycopy(buffers[c].items, 0, all, start[c], buffers[c].size));
+    return all;
+  }
+}
@@ -0,0 +1,246 @@
+package graphapi;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Level-synchronous breadth-first search on a fork/join pool.
+ *
+ * Every frontier is cut into consecutive chunks that are expanded in parallel.
+ * A first pass lets each unvisited neighbour remember the lowest frontier
+ * position that reaches it; a second pass lets only that position claim the
+ * neighbour, set it in the atomic visited bitmap and append it to its chunk's
+ * local buffer. The buffers are concatenated in chunk order through a prefix
+ * sum, so the next frontier, the distances and the parents are exactly those of
+ * a sequential queue-based search over the same adjacency arrays.
+ */
+public class ParallelBFS {
+  private static final int MIN_CHUNK = 256;
+
+  private final CSR g;
+  private final ForkJoinPool pool;
+  private final int[] distTo;
+  private final int[] edgeTo;
+  private final AtomicLongArray visited;
+  private final AtomicIntegerArray claim;
+  private int count;
+
+  /**
+   * Search an undirected graph from vertex s on the common pool.
+   *
+   * @param g Graph
+   * @param s Source vertex
+   * @throws IllegalArgumentException if g is null or s is not present in the
+   *                                  graph
+   */
+  public ParallelBFS(Graph g, int s) {
+    this(CSR.of(g), s, ForkJoinPool.commonPool());
+  }
+
+  /**
+   * Search a directed graph from vertex s on the common pool.
+   *
+   * @param g Directed graph
+   * @param s Source vertex
+   * @throws IllegalArgumentException if g is null or s is not present in the
+   *                                  graph
+   */
+  public ParallelBFS(DiGraph g, int s) {
+    this(CSR.of(g), s, ForkJoinPool.commonPool());
+  }
+
+  /**
+   * Search from vertex s.
+   *
+   * @param g    Adjacency arrays of the graph
+   * @param s    Source vertex
+   * @param pool Pool expanding the frontiers
+   * @throws IllegalArgumentException if g or pool is null or s is not present
+   *                                  in the graph
+   */
+  public ParallelBFS(CSR g, int s, ForkJoinPool pool) {
+    if (g == null) {
+      throw new IllegalArgumentException("Graph cannot be null");
+    }
+
+    if (pool == null) {
+      throw new IllegalArgumentException("Pool cannot be null");
+    }
+
+    if (s < 0 || s >= g.V()) {
+      throw new IllegalArgumentException("Vertex must be present in graph");
+    }
+
+    this.g = g;
+    this.pool = pool;
+
+    int n = g.V();
+    distTo = new int[n];
+    edgeTo = new int[n];
+    visited = new AtomicLongArray((n + 63) >>> 6);
+    claim = new AtomicIntegerArray(n);
+    Arrays.fill(distTo, -1);
+    Arrays.fill(edgeTo, -1);
+    for (int v = 0; v < n; v++) {
+      claim.set(v, Integer.MAX_VALUE);
+    }
+
+    search(s);
+  }
+
+  private void search(int s) {
+    markVisited(s);
+    distTo[s] = 0;
+    int[] frontier = { s };
+    count = 1;
+
+    for (int level = 1; frontier.length > 0; level++) {
+      frontier = expand(frontier, level);
+      count += frontier.length;
+    }
+  }
+
+  private int[] expand(int[] frontier, int level) {
+    int[] offsets = g.offsets;
+    int[] targets = g.targets;
+    int size = frontier.length;
+    int chunk = Parallel.grain(pool, size, MIN_CHUNK);
+    int chunks = (size + chunk - 1) / chunk;
+
+    Parallel.forRange(pool, 0, size, chunk, (from, to) -> {
+      for (int p = from; p < to; p++) {
+        int v = frontier[p];
+        for (int i = offsets[v]; i < offsets[v + 1]; i++) {
+          int w = targets[i];
+          if (!isVisited(w)) {
+            claimMin(w, p);
+          }
+        }
+      }
+    });
+
+    int[][] buffers = new int[chunks][];
+    int[] found = new int[chunks];
+
+    Parallel.forEach(pool, 0, chunks, 1, c -> {
+      int from = c * chunk;
+      int to = Math.min(size, from + chunk);
+      int[] buffer = new int[Math.max(16, to - from)];
+      int k = 0;
+
+      for (int p = from; p < to; p++) {
+        int v = frontier[p];
+        for (int i = offsets[v]; i < offsets[v + 1]; i++) {
+          int w = targets[i];
+          if (claim.get(w) == p && !isVisited(w)) {
+            markVisited(w);
+            distTo[w] = level;
+            edgeTo[w] = v;
+
+            if (k == buffer.length) {
+              buffer = Arrays.copyOf(buffer, 2 * k);
+            }
+            buffer[k++] = w;
+          }
+        }
+      }
+
+      buffers[c] = buffer;
+      found[c] = k;
+    });
+
+    int[] start = new int[chunks + 1];
+    for (int c = 0; c < chunks; c++) {
+      start[c + 1] = start[c] + found[c];
+    }
+
+    int[] next = new int[start[chunks]];
+    Parallel.forEach(pool, 0, chunks, 1, c -> System.arraycopy(buffers[c], 0, next, start[c], found[c]));
+
+    return next;
+  }
+
+  private void claimMin(int w, int p) {
+    int current = claim.get(w);
+    while (p < current && !claim.compareAndSet(w, current, p)) {
+      current = claim.get(w);
+    }
+  }
+
+  private boolean isVisited(int v) {
+    return (visited.get(v >>> 6) & (1L << v)) != 0;
+  }
+
+  private void markVisited(int v) {
+    int k = v >>> 6;
+    long bit = 1L << v;
+    long word = visited.get(k);
+    while ((word & bit) == 0 && !visited.compareAndSet(k, word, word | bit)) {
+      word = visited.get(k);
+    }
+  }
+
+  private void validateVertex(int v) {
+    if (v < 0 || v >= distTo.length) {
+      throw new IllegalArgumentException("Vertex must be present in graph");
+    }
+  }
+
+  /**
+   * Number of vertices reached, the source included.
+   *
+   * @return Number of reached vertices
+   */
+  public int count() {
+    return count;
+  }
+
+  public boolean marked(int v) {
+    validateVertex(v);
+    return distTo[v] != -1;
+  }
+
+  /**
+   * Number of arcs on a shortest path from the source to v.
+   *
+   * @param v Vertex
+   * @return Distance, or -1 if v is not reachable
+   * @throws IllegalArgumentException if v is not present in the graph
+   */
+  public int distTo(int v) {
+    validateVertex(v);
+    return distTo[v];
+  }
+
+  /**
+   * Vertex preceding v on a shortest path from the source.
+   *
+   * @param v Vertex
+   * @return Parent of v, or -1 for the source and unreachable vertices
+   * @throws IllegalArgumentException if v is not present in the graph
+   */
+  public int edgeTo(int v) {
+    validateVertex(v);
+    return edgeTo[v];
+  }
+
+  /**
+   * Distances of all vertices from the source.
+   *
+   * @return Copy of the distances, -1 for unreachable vertices
+   */
+  public int[] distances() {
+    return distTo.clone();
+  }
+
+  /**
+   * Parents of all vertices in the search tree.
+   *
+   * @return Copy of the parents, -1 for the source and unreachable vertices
+   */
+  public int[] parents() {
+    return edgeTo.clone();
+  }
+}
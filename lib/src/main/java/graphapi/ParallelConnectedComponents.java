@@ -0,0 +1,209 @@
+package graphapi;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * Parallel connected components with the Afforest algorithm (Sutton et al.).
+ *
+ * Vertices are joined in a lock-free union-find whose links always hook the
+ * larger root under the smaller one with a CAS, so every tree ends up rooted
+ * at the smallest vertex of its component. The first couple of neighbours of
+ * every vertex are linked first; after compression a sample of the labels
+ * reveals the largest intermediate component, and the vertices already in it
+ * skip their remaining neighbours. The result is labelled exactly like
+ * {@link ConnectedComponents}.
+ */
+public class ParallelConnectedComponents {
+  private static final int NEIGHBOUR_ROUNDS = 2;
+  private static final int SAMPLES = 1024;
+  private static final int MIN_CHUNK = 1024;
+
+  private ParallelConnectedComponents() {
+  }
+
+  /**
+   * Connected components of an undirected graph on the common pool.
+   *
+   * @param g Graph
+   * @return Components of g
+   * @throws IllegalArgumentException if g is null
+   */
+  public static ConnectedComponents find(Graph g) {
+    return find(CSR.of(g), null, ForkJoinPool.commonPool());
+  }
+
+  /**
+   * Weakly connected components of a directed graph on the common pool.
+   *
+   * @param g Directed graph
+   * @return Weak components of g
+   * @throws IllegalArgumentException if g is null
+   */
+  public static ConnectedComponents find(DiGraph g) {
+    CSR out = CSR.of(g);
+    return find(out, out.reverse(), ForkJoinPool.commonPool());
+  }
+
+  /**
+   * Components of a graph given by its adjacency arrays.
+   *
+   * @param out  Out-neighbours of every vertex
+   * @param in   In-neighbours of every vertex, or null if the graph is
+   *             undirected
+   * @param pool Pool to run on
+   * @return Components of the graph
+   * @throws IllegalArgumentException if out or pool is null
+   */
+  public static ConnectedComponents find(CSR out, CSR in, ForkJoinPool pool) {
+    if (out == null) {
+      throw new IllegalArgumentException("Graph cannot be null");
+    }
+
+    if (pool == null) {
+      throw new IllegalArgumentException("Pool cannot be null");
+    }
+
+    int n = out.V();
+    int[] offsets = out.offsets;
+    int[] targets = out.targets;
+    int grain = Parallel.grain(pool, n, MIN_CHUNK);
+    AtomicIntegerArray parent = new AtomicIntegerArray(n);
+
+    Parallel.forEach(pool, 0, n, grain, v -> parent.set(v, v));
+
+    for (int r = 0; r < NEIGHBOUR_ROUNDS; r++) {
+      final int round = r;
+      Parallel.forEach(pool, 0, n, grain, v -> {
+        int i = offsets[v] + round;
+        if (i < offsets[v + 1]) {
+          link(parent, v, targets[i]);
+        }
+      });
+      compress(parent, pool, grain);
+    }
+
+    int largest = sampleFrequentLabel(parent);
+
+    Parallel.forEach(pool, 0, n, grain, v -> {
+      if (parent.get(v) == largest) {
+        return;
+      }
+
+      for (int i = offsets[v] + NEIGHBOUR_ROUNDS; i < offsets[v + 1]; i++) {
+        link(parent, v, targets[i]);
+      }
+
+      if (in != null) {
+        for (int i = in.offsets[v]; i < in.offsets[v + 1]; i++) {
+          link(parent, v, in.targets[i]);
+        }
+      }
+    });
+    compress(parent, pool, grain);
+
+    return label(parent, pool, grain);
+  }
+
+  private static void link(AtomicIntegerArray parent, int u, int v) {
+    int p1 = parent.get(u);
+    int p2 = parent.get(v);
+
+    while (p1 != p2) {
+      int high = Math.max(p1, p2);
+      int low = Math.min(p1, p2);
+      int pHigh = parent.get(high);
+
+      if (pHigh == low || (pHigh == high && parent.compareAndSet(high, high, low))) {
+        return;
+      }
+
+      p1 = parent.get(parent.get(high));
+      p2 = parent.get(low);
+    }
+  }
+
+  private static void compress(AtomicIntegerArray parent, ForkJoinPool pool, int grain) {
+    Parallel.forEach(pool, 0, parent.length(), grain, v -> {
+      int p = parent.get(v);
+      while (p != parent.get(p)) {
+        p = parent.get(p);
+      }
+      parent.set(v, p);
+    });
+  }
+
+  private static int sampleFrequentLabel(AtomicIntegerArray parent) {
+    int n = parent.length();
+    if (n == 0) {
+      return -1;
+    }
+
+    SplittableRandom random = new SplittableRandom(n);
+    int[] samples = new int[SAMPLES];
+    for (int i = 0; i < SAMPLES; i++) {
+      samples[i] = parent.get(random.nextInt(n));
+    }
+
+    Arrays.sort(samples);
+    int best = samples[0], bestRun = 0;
+    for (int i = 0, j; i < SAMPLES; i = j) {
+      j = i + 1;
+      while (j < SAMPLES && samples[j] == samples[i]) {
+        j++;
+      }
+
+      if (j - i > bestRun) {
+        best = samples[i];
+        bestRun = j - i;
+      }
+    }
+
+    return best;
+  }
+
+  /**
+   * Number the roots in increasing order, which is the order of the smallest
+   * vertex of every component.
+   */
+  private static ConnectedComponents label(AtomicIntegerArray parent, ForkJoinPool pool, int grain) {
+    int n = parent.length();
+    int chunks = (n + grain - 1) / grain;
+    int[] roots = new int[chunks + 1];
+
+    Parallel.forEach(pool, 0, chunks, 1, c -> {
+      int count = 0;
+      for (int v = c * grain; v < Math.min(n, (c + 1) * grain); v++) {
+        if (parent.get(v) == v) {
+          count++;
+        }
+      }
+      roots[c + 1] = count;
+    });
+
+    for (int c = 0; c < chunks; c++) {
+      roots[c + 1] += roots[c];
+    }
+
+    int[] componentOf = new int[n];
+    Parallel.forEach(pool, 0, chunks, 1, c -> {
+      int id = roots[c];
+      for (int v = c * grain; v < Math.min(n, (c + 1) * grain); v++) {
+        if (parent.get(v) == v) {
+          componentOf[v] = id++;
+        }
+      }
+    });
+
+    Parallel.forEach(pool, 0, n, grain, v -> componentOf[v] = componentOf[parent.get(v)]);
+
+    int[] sizes = new int[roots[chunks]];
+    for (int v = 0; v < n; v++) {
+      sizes[componentOf[v]]++;
+    }
+
+    return new ConnectedComponents(componentOf, sizes);
+  }
+}
@@ -0,0 +1,139 @@
+package graphapi;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * Parallel k-core decomposition by level-synchronous peeling (PKC, Kabir and
+ * Madduri).
+ *
+ * Levels are processed in increasing order. At level k every remaining vertex
+ * of degree k is peeled in parallel; each neighbour of degree above k loses one
+ * with an atomic decrement, and the single thread that takes it down to exactly
+ * k adds it to the next sub-level, while a decrement that overshoots is undone.
+ * When a level is exhausted the remaining vertices are compacted, so later
+ * scans only touch vertices not yet peeled, and the next level is the smallest
+ * remaining degree. The final degree of every vertex is its shell index, the
+ * same as {@link Algorithms#kCoreDecompose(Graph)} gives.
+ */
+public class ParallelKCore {
+  private static final int MIN_CHUNK = 1024;
+
+  private final CSR g;
+  private final ForkJoinPool pool;
+  private final AtomicIntegerArray deg;
+
+  private ParallelKCore(CSR g, ForkJoinPool pool) {
+    this.g = g;
+    this.pool = pool;
+    deg = new AtomicIntegerArray(g.V());
+  }
+
+  /**
+   * Shell index of every vertex of a graph on the common pool.
+   *
+   * @param g Graph
+   * @return Shell indices of the vertices
+   * @throws IllegalArgumentException if g is null
+   */
+  public static int[] decompose(Graph g) {
+    return decompose(CSR.of(g), ForkJoinPool.commonPool());
+  }
+
+  /**
+   * Shell index of every vertex of a graph given by its adjacency arrays.
+   *
+   * @param g    Adjacency arrays of an undirected graph
+   * @param pool Pool to run on
+   * @return Shell indices of the vertices
+   * @throws IllegalArgumentException if g or pool is null
+   */
+  public static int[] decompose(CSR g, ForkJoinPool pool) {
+    if (g == null) {
+      throw new IllegalArgumentException("Graph cannot be null");
+    }
+
+    if (pool == null) {
+      throw new IllegalArgumentException("Pool cannot be null");
+    }
+
+    return new ParallelKCore(g, pool).peel();
+  }
+
+  private int[] peel() {
+    int n = g.V();
+    int[] all = new int[n];
+
+    Parallel.forEach(pool, 0, n, Parallel.grain(pool, n, MIN_CHUNK), v -> {
+      deg.set(v, g.degree(v));
+      all[v] = v;
+    });
+
+    int[] remaining = all;
+    while (remaining.length > 0) {
+      int[] rest = remaining;
+      int level = minDegree(rest);
+
+      int[] frontier = Parallel.gather(pool, rest.length, MIN_CHUNK, (p, out) -> {
+        if (deg.get(rest[p]) == level) {
+          out.add(rest[p]);
+        }
+      });
+
+      while (frontier.length > 0) {
+        int[] current = frontier;
+        frontier = Parallel.gather(pool, current.length, MIN_CHUNK, (p, out) -> release(current[p], level, out));
+      }
+
+      remaining = Parallel.gather(pool, rest.length, MIN_CHUNK, (p, out) -> {
+        if (deg.get(rest[p]) > level) {
+          out.add(rest[p]);
+        }
+      });
+    }
+
+    int[] cores = new int[n];
+    for (int v = 0; v < n; v++) {
+      cores[v] = deg.get(v);
+    }
+    return cores;
+  }
+
+  /**
+   * Peel v at the given level and collect the neighbours that drop to it.
+   */
+  private void release(int v, int level, Parallel.Buffer out) {
+    for (int i = g.offsets[v]; i < g.offsets[v + 1]; i++) {
+      int u = g.targets[i];
+      if (deg.get(u) > level) {
+        int d = deg.decrementAndGet(u);
+        if (d == level) {
+          out.add(u);
+        } else if (d < level) {
+          deg.incrementAndGet(u);
+        }
+      }
+    }
+  }
+
+  private int minDegree(int[] vertices) {
+    int size = vertices.length;
+    int chunk = Parallel.grain(pool, size, MIN_CHUNK);
+    int chunks = (size + chunk - 1) / chunk;
+    int[] min = new int[chunks];
+
+    Parallel.forEach(pool, 0, chunks, 1, c -> {
+      int m = Integer.MAX_VALUE;
+      for (int p = c * chunk; p < Math.min(size, (c + 1) * chunk); p++) {
+        m = Math.min(m, deg.get(vertices[p]));
+      }
+      min[c] = m;
+    });
+
+    int m = Integer.MAX_VALUE;
+    for (int c = 0; c < chunks; c++) {
+      m = Math.min(m, min[c]);
+    }
+    return m;
+  }
+}
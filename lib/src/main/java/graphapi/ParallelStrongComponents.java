@@ -0,0 +1,345 @@
+package graphapi;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Parallel strongly connected components with the forward-backward (FW-BW)
+ * algorithm.
+ *
+ * Every vertex carries a colour naming the subproblem it belongs to. A
+ * subproblem is first trimmed of vertices without in- or out-arcs inside it,
+ * which are components on their own. Then the vertices reached forward and
+ * backward from a pivot are coloured; their intersection is the pivot's
+ * component, and the forward-only, backward-only and unreached vertices form
+ * three independent subproblems. Large subproblems are forked on the pool,
+ * small ones are drained from a local work list. Components are finally
+ * numbered in reverse topological order of the condensation, the same
+ * guarantee as {@link StrongComponents}, so the result can feed the
+ * reachability indexes built on it.
+ */
+public class ParallelStrongComponents {
+  private static final int FORK_THRESHOLD = 4096;
+  private static final int DONE = -1;
+
+  private final CSR out;
+  private final CSR in;
+  private final int[] color;
+  private final int[] componentOf;
+  private final AtomicInteger colors = new AtomicInteger(1);
+  private final AtomicInteger components = new AtomicInteger();
+
+  private ParallelStrongComponents(CSR out) {
+    this.out = out;
+    in = out.reverse();
+    color = new int[out.V()];
+    componentOf = new int[out.V()];
+  }
+
+  /**
+   * Strongly connected components of a directed graph on the common pool.
+   *
+   * @param g Directed graph
+   * @return Components of g
+   * @throws IllegalArgumentException if g is null
+   */
+  public static StrongComponents find(DiGraph g) {
+    return find(CSR.of(g), ForkJoinPool.commonPool());
+  }
+
+  /**
+   * Strongly connected components of a graph given by its adjacency arrays.
+   *
+   * @param g    Out-neighbours of every vertex
+   * @param pool Pool to run on
+   * @return Components of the graph
+   * @throws IllegalArgumentException if g or pool is null
+   */
+  public static StrongComponents find(CSR g, ForkJoinPool pool) {
+    if (g == null) {
+      throw new IllegalArgumentException("Graph cannot be null");
+    }
+
+    if (pool == null) {
+      throw new IllegalArgumentException("Pool cannot be null");
+    }
+
+    ParallelStrongComponents scc = new ParallelStrongComponents(g);
+    int n = g.V();
+    int[] all = new int[n];
+    for (int v = 0; v < n; v++) {
+      all[v] = v;
+    }
+
+    pool.invoke(scc.new Task(all, 0));
+    return scc.label();
+  }
+
+  private class Task extends RecursiveAction {
+    private static final long serialVersionUID = 1L;
+
+    private final int[] vertices;
+    private final int c;
+
+    Task(int[] vertices, int c) {
+      this.vertices = vertices;
+      this.c = c;
+    }
+
+    @Override
+    protected void compute() {
+      Deque<Task> work = new ArrayDeque<>();
+      List<Task> forked = new ArrayList<>();
+      work.push(this);
+
+      while (!work.isEmpty()) {
+        Task t = work.pop();
+        List<Task> subs = split(t.vertices, t.c);
+
+        // The largest subproblem stays here, so every forked one is at most
+        // half its parent and joins nest only logarithmically deep.
+        Task largest = null;
+        for (Task sub : subs) {
+          if (largest == null || sub.vertices.length > largest.vertices.length) {
+            largest = sub;
+          }
+        }
+
+        for (Task sub : subs) {
+          if (sub != largest && sub.vertices.length >= FORK_THRESHOLD) {
+            sub.fork();
+            forked.add(sub);
+          } else {
+            work.push(sub);
+          }
+        }
+      }
+
+      for (Task sub : forked) {
+        sub.join();
+      }
+    }
+  }
+
+  /**
+   * Peel the pivot's component off a subproblem.
+   *
+   * @return Remaining subproblems
+   */
+  private List<Task> split(int[] vertices, int c) {
+    List<Task> subs = new ArrayList<>(3);
+    int[] rest = trim(vertices, c);
+    if (rest.length == 0) {
+      return subs;
+    }
+
+    // A random pivot keeps long chains of components from peeling off one at
+    // a time from one end.
+    int pivot = rest[ThreadLocalRandom.current().nextInt(rest.length)];
+    int forward = colors.getAndIncrement();
+    int backward = colors.getAndIncrement();
+    int id = components.getAndIncrement();
+    int[] queue = new int[rest.length];
+
+    color[pivot] = forward;
+    queue[0] = pivot;
+    for (int head = 0, tail = 1; head < tail;) {
+      int v = queue[head++];
+      for (int i = out.offsets[v]; i < out.offsets[v + 1]; i++) {
+        int w = out.targets[i];
+        if (color[w] == c) {
+          color[w] = forward;
+          queue[tail++] = w;
+        }
+      }
+    }
+
+    color[pivot] = DONE;
+    componentOf[pivot] = id;
+    queue[0] = pivot;
+    for (int head = 0, tail = 1; head < tail;) {
+      int v = queue[head++];
+      for (int i = in.offsets[v]; i < in.offsets[v + 1]; i++) {
+        int w = in.targets[i];
+        if (color[w] == forward) {
+          color[w] = DONE;
+          componentOf[w] = id;
+          queue[tail++] = w;
+        } else if (color[w] == c) {
+          color[w] = backward;
+          queue[tail++] = w;
+        }
+      }
+    }
+
+    subs.add(new Task(collect(rest, forward), forward));
+    subs.add(new Task(collect(rest, backward), backward));
+    subs.add(new Task(collect(rest, c), c));
+    return subs;
+  }
+
+  /**
+   * Repeatedly remove vertices without in- or out-arcs inside the subproblem,
+   * each a component of its own.
+   *
+   * @return Vertices left in the subproblem
+   */
+  private int[] trim(int[] vertices, int c) {
+    int size = vertices.length;
+    int[] inside = new int[2 * size];
+    int[] queue = new int[size];
+    int tail = 0;
+
+    // Subproblems are always sorted, so positions are found by binary search.
+    for (int k = 0; k < size; k++) {
+      int v = vertices[k];
+      inside[2 * k] = countInside(in, v, c);
+      inside[2 * k + 1] = countInside(out, v, c);
+      if (inside[2 * k] == 0 || inside[2 * k + 1] == 0) {
+        queue[tail++] = k;
+      }
+    }
+
+    if (tail == 0) {
+      return vertices;
+    }
+
+    for (int head = 0; head < tail; head++) {
+      int v = vertices[queue[head]];
+      if (color[v] != c) {
+        continue;
+      }
+
+      color[v] = DONE;
+      componentOf[v] = components.getAndIncrement();
+      tail = release(out, v, c, vertices, inside, 0, queue, tail);
+      tail = release(in, v, c, vertices, inside, 1, queue, tail);
+    }
+
+    return collect(vertices, c);
+  }
+
+  private int countInside(CSR g, int v, int c) {
+    int count = 0;
+    for (int i = g.offsets[v]; i < g.offsets[v + 1]; i++) {
+      if (color[g.targets[i]] == c) {
+        count++;
+      }
+    }
+    return count;
+  }
+
+  private int release(CSR g, int v, int c, int[] vertices, int[] inside, int side, int[] queue, int tail) {
+    for (int i = g.offsets[v]; i < g.offsets[v + 1]; i++) {
+      int w = g.targets[i];
+      if (color[w] != c) {
+        continue;
+      }
+
+      int k = Arrays.binarySearch(vertices, w);
+      if (--inside[2 * k + side] == 0 && inside[2 * k + 1 - side] != 0) {
+        queue[tail++] = k;
+      }
+    }
+    return tail;
+  }
+
+  private int[] collect(int[] vertices, int c) {
+    int count = 0;
+    for (int v : vertices) {
+      if (color[v] == c) {
+        count++;
+      }
+    }
+
+    int[] sub = new int[count];
+    int k = 0;
+    for (int v : vertices) {
+      if (color[v] == c) {
+        sub[k++] = v;
+      }
+    }
+    return sub;
+  }
+
+  /**
+   * Number the components in reverse topological order of the condensation,
+   * as {@link StrongComponents} promises: the first components to come off
+   * Kahn's queue get the highest ids.
+   */
+  private StrongComponents label() {
+    int n = componentOf.length;
+    int[] rename = new int[components.get()];
+    Arrays.fill(rename, -1);
+
+    int count = 0;
+    for (int v = 0; v < n; v++) {
+      int id = componentOf[v];
+      if (rename[id] == -1) {
+        rename[id] = count++;
+      }
+      componentOf[v] = rename[id];
+    }
+
+    int[] offsets = new int[count + 1];
+    int[] indegree = new int[count];
+    for (int v = 0; v < n; v++) {
+      for (int i = out.offsets[v]; i < out.offsets[v + 1]; i++) {
+        int w = out.targets[i];
+        if (componentOf[w] != componentOf[v]) {
+          offsets[componentOf[v] + 1]++;
+          indegree[componentOf[w]]++;
+        }
+      }
+    }
+
+    for (int c = 0; c < count; c++) {
+      offsets[c + 1] += offsets[c];
+    }
+
+    int[] next = Arrays.copyOf(offsets, count);
+    int[] targets = new int[offsets[count]];
+    for (int v = 0; v < n; v++) {
+      for (int i = out.offsets[v]; i < out.offsets[v + 1]; i++) {
+        int w = out.targets[i];
+        if (componentOf[w] != componentOf[v]) {
+          targets[next[componentOf[v]]++] = componentOf[w];
+        }
+      }
+    }
+
+    int[] queue = new int[count];
+    int head = 0, tail = 0;
+    for (int c = 0; c < count; c++) {
+      if (indegree[c] == 0) {
+        queue[tail++] = c;
+      }
+    }
+
+    int[] order = new int[count];
+    while (head < tail) {
+      int c = queue[head];
+      order[c] = count - 1 - head++;
+      for (int i = offsets[c]; i < offsets[c + 1]; i++) {
+        if (--indegree[targets[i]] == 0) {
+          queue[tail++] = targets[i];
+        }
+      }
+    }
+
+    int[] sizes = new int[count];
+    for (int v = 0; v < n; v++) {
+      componentOf[v] = order[componentOf[v]];
+      sizes[componentOf[v]]++;
+    }
+
+    return new StrongComponents(out, componentOf, sizes);
+  }
+}
@@ -0,0 +1,319 @@
+package graphapi;
+
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.util.Arrays;
+
+/**
+ * Exact hop distances in an unweighted graph from pruned landmark labels
+ * (Akiba, Iwata and Yoshida).
+ *
+ * Every vertex gets a label of (hub, distance) pairs such that each shortest
+ * path between two vertices passes through a hub they share. Labels are built
+ * by a BFS from every vertex in decreasing order of degree; a BFS stops at any
+ * vertex whose distance the labels built so far already give, so
+ * well-connected hubs cover most pairs and later searches stay small. Hubs are
+ * stored by rank in flat int arrays, sorted within each label, so a query is a
+ * single merge of two short sorted lists.
+ */
+public class PrunedLandmarkLabeling {
+  private static final int MAGIC = 0x504c4c31;
+  private static final int INFINITY = Integer.MAX_VALUE;
+  private static final int READ_CHUNK = 1 << 13;
+
+  private final int[] offsets;
+  private final int[] hubs;
+  private final int[] dists;
+
+  /**
+   * Build the labels of a graph.
+   *
+   * @param g Graph
+   * @throws IllegalArgumentException if g is null
+   */
+  public PrunedLandmarkLabeling(Graph g) {
+    this(CSR.of(g));
+  }
+
+  /**
+   * Build the labels of a graph given by its adjacency arrays.
+   *
+   * @param g Adjacency arrays of an undirected graph
+   * @throws IllegalArgumentException if g is null
+   */
+  public PrunedLandmarkLabeling(CSR g) {
+    if (g == null) {
+      throw new IllegalArgumentException("Graph cannot be null");
+    }
+
+    int n = g.V();
+    int[] order = degreeOrder(g);
+    int[][] labelHubs = new int[n][];
+    int[][] labelDists = new int[n][];
+    int[] size = new int[n];
+    int[] rootDist = new int[n];
+    int[] dist = new int[n];
+    int[] queue = new int[n];
+
+    Arrays.fill(rootDist, INFINITY);
+    Arrays.fill(dist, INFINITY);
+    for (int v = 0; v < n; v++) {
+      labelHubs[v] = new int[4];
+      labelDists[v] = new int[4];
+    }
+
+    for (int r = 0; r < n; r++) {
+      int root = order[r];
+      int[] rh = labelHubs[root];
+      int[] rd = labelDists[root];
+      int rootSize = size[root];
+      for (int i = 0; i < rootSize; i++) {
+        rootDist[rh[i]] = rd[i];
+      }
+
+      int tail = 0;
+      dist[root] = 0;
+      queue[tail++] = root;
+
+      for (int head = 0; head < tail; head++) {
+        int u = queue[head];
+        int du = dist[u];
+
+        if (covered(labelHubs[u], labelDists[u], size[u], rootDist, du)) {
+          continue;
+        }
+
+        if (size[u] == labelHubs[u].length) {
+          labelHubs[u] = Arrays.copyOf(labelHubs[u], 2 * size[u]);
+          labelDists[u] = Arrays.copyOf(labelDists[u], 2 * size[u]);
+        }
+        labelHubs[u][size[u]] = r;
+        labelDists[u][size[u]++] = du;
+
+        for (int i = g.offsets[u]; i < g.offsets[u + 1]; i++) {
+          int w = g.targets[i];
+          if (dist[w] == INFINITY) {
+            dist[w] = du + 1;
+            queue[tail++] = w;
+          }
+        }
+      }
+
+      for (int i = 0; i < tail; i++) {
+        dist[queue[i]] = INFINITY;
+      }
+      for (int i = 0; i < rootSize; i++) {
+        rootDist[rh[i]] = INFINITY;
+      }
+    }
+
+    offsets = new int[n + 1];
+    for (int v = 0; v < n; v++) {
+      offsets[v + 1] = offsets[v] + size[v];
+    }
+
+    hubs = new int[offsets[n]];
+    dists = new int[offsets[n]];
+    for (int v = 0; v < n; v++) {
+      System.arraycopy(labelHubs[v], 0, hubs, offsets[v], size[v]);
+      System.arraycopy(labelDists[v], 0, dists, offsets[v], size[v]);
+      labelHubs[v] = null;
+      labelDists[v] = null;
+    }
+  }
+
+  private PrunedLandmarkLabeling(int[] offsets, int[] hubs, int[] dists) {
+    this.offsets = offsets;
+    this.hubs = hubs;
+    this.dists = dists;
+  }
+
+  /**
+   * Vertices by decreasing degree, ties by increasing id, with a counting
+   * sort.
+   */
+  private static int[] degreeOrder(CSR g) {
+    int n = g.V();
+    int max = 0;
+    for (int v = 0; v < n; v++) {
+      max = Math.max(max, g.degree(v));
+    }
+
+    int[] start = new int[max + 2];
+    for (int v = 0; v < n; v++) {
+      start[max - g.degree(v) + 1]++;
+    }
+    for (int d = 0; d <= max; d++) {
+      start[d + 1] += start[d];
+    }
+
+    int[] order = new int[n];
+    for (int v = 0; v < n; v++) {
+      order[start[max - g.degree(v)]++] = v;
+    }
+
+    return order;
+  }
+
+  /**
+   * Check if the labels built so far already give a distance of at most d
+   * between the current root and a vertex.
+   */
+  private static boolean covered(int[] hub, int[] dist, int size, int[] rootDist, int d) {
+    for (int i = 0; i < size; i++) {
+      int r = rootDist[hub[i]];
+      if (r != INFINITY && r + dist[i] <= d) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Number of vertices.
+   *
+   * @return Number of vertices
+   */
+  public int V() {
+    return offsets.length - 1;
+  }
+
+  /**
+   * Total number of label entries over all vertices.
+   *
+   * @return Number of label entries
+   */
+  public int entries() {
+    return hubs.length;
+  }
+
+  /**
+   * Number of edges on a shortest path between u and v.
+   *
+   * @param u Vertex
+   * @param v Vertex
+   * @return Distance, or -1 if u and v are not connected
+   * @throws IllegalArgumentException if u or v is not present in the graph
+   */
+  public int distance(int u, int v) {
+    validateVertex(u);
+    validateVertex(v);
+
+    int i = offsets[u], iEnd = offsets[u + 1];
+    int j = offsets[v], jEnd = offsets[v + 1];
+    int best = INFINITY;
+
+    while (i < iEnd && j < jEnd) {
+      int hu = hubs[i];
+      int hv = hubs[j];
+      if (hu == hv) {
+        best = Math.min(best, dists[i++] + dists[j++]);
+      } else if (hu < hv) {
+        i++;
+      } else {
+        j++;
+      }
+    }
+
+    return best == INFINITY ? -1 : best;
+  }
+
+  /**
+   * Write the labels to a stream.
+   *
+   * @param out Stream to write to, left open
+   * @throws IOException if writing fails
+   */
+  public void save(OutputStream out) throws IOException {
+    DataOutputStream data = new DataOutputStream(new BufferedOutputStream(out));
+    data.writeInt(MAGIC);
+    data.writeInt(V());
+    data.writeInt(hubs.length);
+
+    for (int offset : offsets) {
+      data.writeInt(offset);
+    }
+    for (int i = 0; i < hubs.length; i++) {
+      data.writeInt(hubs[i]);
+      data.writeInt(dists[i]);
+    }
+
+    data.flush();
+  }
+
+  /**
+   * Read labels written by {@link #save(OutputStream)}. Exactly the bytes
+   * written are consumed, so the stream can hold more data after them.
+   *
+   * @param in Stream to read from, left open
+   * @return Distance oracle
+   * @throws IOException if reading fails or the stream does not hold labels
+   */
+  public static PrunedLandmarkLabeling load(InputStream in) throws IOException {
+    DataInputStream data = new DataInputStream(in);
+    if (data.readInt() != MAGIC) {
+      throw new IOException("stream does not hold landmark labels");
+    }
+
+    int n = data.readInt();
+    int size = data.readInt();
+    if (n < 0 || size < 0) {
+      throw new IOException("corrupt landmark labels");
+    }
+
+    int[] offsets = new int[n + 1];
+    readInts(data, offsets);
+
+    int[] hubs = new int[size];
+    int[] dists = new int[size];
+    readInts(data, hubs, dists);
+
+    if (offsets[0] != 0 || offsets[n] != size) {
+      throw new IOException("corrupt landmark labels");
+    }
+
+    for (int v = 0; v < n; v++) {
+      if (offsets[v] > offsets[v + 1]) {
+        throw new IOException("corrupt landmark labels");
+      }
+    }
+
+    return new PrunedLandmarkLabeling(offsets, hubs, dists);
+  }
+
+  /**
+   * Fill the arrays, all of the same length, from big-endian ints that take
+   * one element of each in turn. Whole chunks are read at once, but never a
+   * byte past the last int.
+   */
+  private static void readInts(DataInputStream data, int[]... arrays) throws IOException {
+    int stride = 4 * arrays.length;
+    int records = READ_CHUNK / stride;
+    byte[] bytes = new byte[records * stride];
+    IntBuffer ints = ByteBuffer.wrap(bytes).asIntBuffer();
+    int length = arrays[0].length;
+
+    for (int i = 0; i < length; i += records) {
+      int count = Math.min(records, length - i);
+      data.readFully(bytes, 0, count * stride);
+      ints.rewind();
+      for (int r = i; r < i + count; r++) {
+        for (int[] a : arrays) {
+          a[r] = ints.get();
+        }
+      }
+    }
+  }
+
+  private void validateVertex(int v) {
+    if (v < 0 || v >= V()) {
+      throw new IllegalArgumentException("Vertex must be present in graph");
+    }
+  }
+}
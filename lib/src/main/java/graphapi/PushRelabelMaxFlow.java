@@ -0,0 +1,384 @@
+package graphapi;
+
+import java.util.Arrays;
+
+/**
+ * Maximum flow and minimum cut of an edge-weighted digraph whose arc weights
+ * are capacities, by highest-label push-relabel (Goldberg and Tarjan, with the
+ * heuristics of Cherkassky and Goldberg).
+ *
+ * Every arc and its reverse are stored in residual adjacency arrays with
+ * primitive capacities. The first phase saturates the arcs out of the source
+ * and always discharges an active vertex of greatest height. Heights are reset
+ * to exact distances to the sink by a backward breadth-first search at the
+ * start and again whenever the relabelling work reaches a multiple of the graph
+ * size, and when the last vertex leaves a height every vertex above it is cut
+ * off from the sink at once (the gap heuristic). The excess then in the sink is
+ * the maximum flow value. A second phase, the same discharge run towards the
+ * source, returns the excess stranded on the source side so that every arc
+ * carries a proper flow.
+ */
+public class PushRelabelMaxFlow {
+  private static final int ALPHA = 6;
+  private static final int BETA = 12;
+
+  private final int n, s, t;
+  private final int[] offsets;
+  private final int[] head;
+  private final int[] twin;
+  private final double[] residual;
+  private final double[] capacity;
+  private final int[] arc;
+  private final double[] excess;
+  private final int[] height;
+  private final int[] current;
+  private final int[] active;
+  private final int[] nextActive;
+  private final int[] level;
+  private final int[] nextLevel;
+  private final int[] prevLevel;
+  private final boolean[] cut;
+  private int maxActive, maxLevel;
+  private long work;
+  private int target;
+
+  /**
+   * Compute a maximum flow from s to t.
+   *
+   * @param g Edge-weighted digraph whose weights are capacities
+   * @param s Source vertex
+   * @param t Sink vertex
+   * @throws IllegalArgumentException if g is null, s or t is not present in
+   *                                  the graph, s equals t or a capacity is
+   *                                  negative, infinite or not a number
+   */
+  public PushRelabelMaxFlow(EdgeWeightedDiGraph g, int s, int t) {
+    if (g == null) {
+      throw new IllegalArgumentException("Graph cannot be null");
+    }
+
+    n = g.V();
+    if (s < 0 || s >= n || t < 0 || t >= n) {
+      throw new IllegalArgumentException("Vertex must be present in graph");
+    }
+
+    if (s == t) {
+      throw new IllegalArgumentException("Source and sink must differ");
+    }
+
+    this.s = s;
+    this.t = t;
+
+    int m = g.A();
+    int[] from = new int[m];
+    int[] to = new int[m];
+    capacity = new double[m];
+    offsets = new int[n + 1];
+    int k = 0;
+    for (WeightedArc a : g.arcs()) {
+      double c = a.weight();
+      if (!(c >= 0) || c == Double.POSITIVE_INFINITY) {
+        throw new IllegalArgumentException("Capacities must be finite and non-negative");
+      }
+      from[k] = a.from();
+      to[k] = a.to();
+      capacity[k++] = c;
+      if (a.from() != a.to()) {
+        offsets[a.from() + 1]++;
+        offsets[a.to() + 1]++;
+      }
+    }
+
+    for (int v = 0; v < n; v++) {
+      offsets[v + 1] += offsets[v];
+    }
+
+    int entries = offsets[n];
+    head = new int[entries];
+    twin = new int[entries];
+    residual = new double[entries];
+    arc = new int[m];
+    int[] next = Arrays.copyOf(offsets, n);
+    for (k = 0; k < m; k++) {
+      if (from[k] == to[k]) {
+        arc[k] = -1;
+        continue;
+      }
+      int e = next[from[k]]++;
+      int r = next[to[k]]++;
+      head[e] = to[k];
+      head[r] = from[k];
+      twin[e] = r;
+      twin[r] = e;
+      residual[e] = capacity[k];
+      arc[k] = e;
+    }
+
+    excess = new double[n];
+    height = new int[n];
+    current = new int[n];
+    active = new int[n + 1];
+    nextActive = new int[n];
+    level = new int[n + 1];
+    nextLevel = new int[n];
+    prevLevel = new int[n];
+
+    for (int e = offsets[s]; e < offsets[s + 1]; e++) {
+      push(s, e, residual[e]);
+    }
+
+    run(t, s);
+    run(s, t);
+
+    cut = new boolean[n];
+    int[] queue = new int[n];
+    int tail = 0;
+    cut[s] = true;
+    queue[tail++] = s;
+    for (int i = 0; i < tail; i++) {
+      int v = queue[i];
+      for (int e = offsets[v]; e < offsets[v + 1]; e++) {
+        if (residual[e] > 0 && !cut[head[e]]) {
+          cut[head[e]] = true;
+          queue[tail++] = head[e];
+        }
+      }
+    }
+  }
+
+  private void push(int v, int e, double delta) {
+    int w = head[e];
+    residual[e] -= delta;
+    residual[twin[e]] += delta;
+    excess[v] -= delta;
+    excess[w] += delta;
+  }
+
+  /**
+   * Discharge every vertex with excess, other than the two terminals, towards
+   * target until none can move any more.
+   */
+  private void run(int target, int other) {
+    this.target = target;
+    relabelAll(other);
+
+    while (maxActive >= 0) {
+      int v = active[maxActive];
+      if (v == -1) {
+        maxActive--;
+        continue;
+      }
+
+      active[maxActive] = nextActive[v];
+      discharge(v);
+
+      if (work > (long) ALPHA * n + offsets[n]) {
+        relabelAll(other);
+      }
+    }
+  }
+
+  /**
+   * Set every height to the exact residual distance to the target, n if it
+   * cannot be reached, and rebuild the buckets.
+   */
+  private void relabelAll(int other) {
+    work = 0;
+    Arrays.fill(height, n);
+    Arrays.fill(active, -1);
+    Arrays.fill(level, -1);
+    maxActive = -1;
+    maxLevel = -1;
+
+    int[] queue = current;
+    int tail = 0;
+    height[target] = 0;
+    queue[tail++] = target;
+    for (int i = 0; i < tail; i++) {
+      int w = queue[i];
+      for (int e = offsets[w]; e < offsets[w + 1]; e++) {
+        int v = head[e];
+        if (height[v] == n && v != other && residual[twin[e]] > 0) {
+          height[v] = height[w] + 1;
+          queue[tail++] = v;
+        }
+      }
+    }
+
+    for (int i = 1; i < tail; i++) {
+      int v = queue[i];
+      addLevel(v);
+      if (excess[v] > 0) {
+        addActive(v);
+      }
+    }
+
+    for (int v = 0; v < n; v++) {
+      current[v] = offsets[v];
+    }
+  }
+
+  private void addActive(int v) {
+    int h = height[v];
+    nextActive[v] = active[h];
+    active[h] = v;
+    maxActive = Math.max(maxActive, h);
+  }
+
+  private void addLevel(int v) {
+    int h = height[v];
+    nextLevel[v] = level[h];
+    prevLevel[v] = -1;
+    if (level[h] != -1) {
+      prevLevel[level[h]] = v;
+    }
+    level[h] = v;
+    maxLevel = Math.max(maxLevel, h);
+  }
+
+  private void removeLevel(int v) {
+    if (prevLevel[v] != -1) {
+      nextLevel[prevLevel[v]] = nextLevel[v];
+    } else {
+      level[height[v]] = nextLevel[v];
+    }
+    if (nextLevel[v] != -1) {
+      prevLevel[nextLevel[v]] = prevLevel[v];
+    }
+  }
+
+  /**
+   * Push the excess of v along admissible arcs, relabelling v whenever they
+   * run out, until v has no excess or cannot reach the target.
+   */
+  private void discharge(int v) {
+    while (true) {
+      int h = height[v];
+      int end = offsets[v + 1];
+      for (int e = current[v]; e < end; e++) {
+        int w = head[e];
+        if (residual[e] > 0 && height[w] == h - 1) {
+          boolean idle = excess[w] == 0;
+          push(v, e, Math.min(excess[v], residual[e]));
+          if (idle && w != target && height[w] < n) {
+            addActive(w);
+          }
+          if (excess[v] == 0) {
+            current[v] = e;
+            return;
+          }
+        }
+      }
+
+      removeLevel(v);
+      if (level[h] == -1) {
+        gap(h);
+        height[v] = n;
+        return;
+      }
+
+      if (!relabel(v)) {
+        return;
+      }
+    }
+  }
+
+  /**
+   * Lift v just above its lowest residual neighbour.
+   *
+   * @return True if v can still reach the target
+   */
+  private boolean relabel(int v) {
+    int lowest = n;
+    int first = -1;
+    work += BETA;
+    for (int e = offsets[v]; e < offsets[v + 1]; e++) {
+      work++;
+      if (residual[e] > 0 && height[head[e]] < lowest - 1) {
+        lowest = height[head[e]] + 1;
+        first = e;
+      }
+    }
+
+    height[v] = lowest;
+    if (lowest >= n) {
+      return false;
+    }
+
+    current[v] = first;
+    addLevel(v);
+    return true;
+  }
+
+  /**
+   * No vertex is left at height h, so nothing above it can reach the target.
+   */
+  private void gap(int h) {
+    for (int k = h + 1; k <= maxLevel; k++) {
+      for (int v = level[k]; v != -1; v = nextLevel[v]) {
+        height[v] = n;
+      }
+      level[k] = -1;
+    }
+    maxLevel = h - 1;
+  }
+
+  /**
+   * Value of the maximum flow.
+   *
+   * @return Total flow into the sink
+   */
+  public double value() {
+    return excess[t];
+  }
+
+  /**
+   * Flow on every arc, in the order of the graph's arcs().
+   *
+   * @return Flow of every arc
+   */
+  public double[] flows() {
+    double[] flows = new double[arc.length];
+    for (int k = 0; k < arc.length; k++) {
+      flows[k] = arc[k] == -1 ? 0 : capacity[k] - residual[arc[k]];
+    }
+    return flows;
+  }
+
+  /**
+   * Check if v is on the source side of the minimum cut.
+   *
+   * @param v Vertex
+   * @return True if v is reachable from the source in the residual graph
+   * @throws IllegalArgumentException if v is not present in the graph
+   */
+  public boolean inCut(int v) {
+    if (v < 0 || v >= n) {
+      throw new IllegalArgumentException("Vertex must be present in graph");
+    }
+    return cut[v];
+  }
+
+  /**
+   * Vertices on the source side of the minimum cut, in increasing order.
+   *
+   * @return Source side of the minimum cut
+   */
+  public int[] cut() {
+    int count = 0;
+    for (boolean c : cut) {
+      if (c) {
+        count++;
+      }
+    }
+
+    int[] side = new int[count];
+    int k = 0;
+    for (int v = 0; v < n; v++) {
+      if (cut[v]) {
+        side[k++] = v;
+      }
+    }
+    return side;
+  }
+}
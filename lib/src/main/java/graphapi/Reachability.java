@@ -0,0 +1,17 @@
+package graphapi;
+
+/**
+ * Answers whether one vertex of a directed graph can reach another. Every
+ * vertex reaches itself.
+ */
+public interface Reachability {
+  /**
+   * Check if there is a directed path from v to w.
+   *
+   * @param v Source vertex
+   * @param w Target vertex
+   * @return True if w is reachable from v, false otherwise
+   * @throws IllegalArgumentException if v or w is not present in the graph
+   */
+  public boolean reachable(int v, int w);
+}
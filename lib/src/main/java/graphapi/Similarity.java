@@ -0,0 +1,472 @@
+package graphapi;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Neighbourhood similarity of vertex pairs in an undirected graph: common
+ * neighbours, Jaccard and Adamic-Adar.
+ *
+ * Neighbour sets are kept as sorted rows without self-loops or repeats. Two
+ * rows of similar length are intersected by a branch-free merge; when one is
+ * much longer the shorter one is galloped through it. Vertices whose degree is
+ * at least a 32nd of the vertex count also get a bitmap of their neighbours,
+ * no larger than their row, so intersecting with a hub costs one bit probe per
+ * neighbour of the other vertex, and two hubs are intersected word by word
+ * when that is cheaper.
+ *
+ * The most similar vertices to u are found by accumulating, over every path
+ * u-z-w, the shared neighbour z into per-vertex scratch arrays. A candidate
+ * whose degree bound cannot beat the k-th best score so far is dropped without
+ * being scored. The scratch arrays are stamped and shared, so top-k queries
+ * must not be run from several threads at once; pair scores may.
+ */
+public class Similarity {
+  private static final int HUB_MIN_DEGREE = 64;
+  private static final int GALLOP_RATIO = 32;
+  private static final int MIN_CHUNK = 1024;
+
+  /**
+   * Similarity measures.
+   */
+  public enum Measure {
+    /** Number of shared neighbours. */
+    COMMON_NEIGHBOURS,
+    /** Shared neighbours over the union of both neighbourhoods. */
+    JACCARD,
+    /** Shared neighbours z weighted by 1 / ln(degree(z)). */
+    ADAMIC_ADAR
+  }
+
+  private final CSR g;
+  private final double[] weight;
+  private final int[] hub;
+  private final long[][] bitmaps;
+  private final int[] seen;
+  private final int[] hits;
+  private final double[] sums;
+  private int stamp;
+
+  /**
+   * Prepare similarity queries on a graph.
+   *
+   * @param g Graph
+   * @throws IllegalArgumentException if g is null
+   */
+  public Similarity(Graph g) {
+    this(CSR.of(g));
+  }
+
+  /**
+   * Prepare similarity queries on a graph given by its adjacency arrays.
+   *
+   * @param g Adjacency arrays of an undirected graph
+   * @throws IllegalArgumentException if g is null
+   */
+  public Similarity(CSR g) {
+    if (g == null) {
+      throw new IllegalArgumentException("Graph cannot be null");
+    }
+
+    this.g = g.simple();
+    int n = g.V();
+    weight = new double[n];
+    hub = new int[n];
+    seen = new int[n];
+    hits = new int[n];
+    sums = new double[n];
+
+    int threshold = Math.max(HUB_MIN_DEGREE, (n + 31) / 32);
+    int hubs = 0;
+    for (int v = 0; v < n; v++) {
+      int d = degree(v);
+      weight[v] = d > 1 ? 1 / Math.log(d) : 0;
+      hub[v] = d >= threshold ? hubs++ : -1;
+    }
+
+    bitmaps = new long[hubs][];
+    for (int v = 0; v < n; v++) {
+      if (hub[v] != -1) {
+        long[] bits = new long[(n + 63) >>> 6];
+        for (int i = this.g.offsets[v]; i < this.g.offsets[v + 1]; i++) {
+          int w = this.g.targets[i];
+          bits[w >>> 6] |= 1L << w;
+        }
+        bitmaps[hub[v]] = bits;
+      }
+    }
+  }
+
+  private int degree(int v) {
+    return g.offsets[v + 1] - g.offsets[v];
+  }
+
+  private void validateVertex(int v) {
+    if (v < 0 || v >= hub.length) {
+      throw new IllegalArgumentException("Vertex must be present in graph");
+    }
+  }
+
+  /**
+   * Number of neighbours shared by u and v.
+   *
+   * @param u Vertex
+   * @param v Vertex
+   * @return Number of common neighbours
+   * @throws IllegalArgumentException if u or v is not present in the graph
+   */
+  public int commonNeighbours(int u, int v) {
+    validateVertex(u);
+    validateVertex(v);
+    return common(u, v);
+  }
+
+  /**
+   * Jaccard coefficient of the neighbourhoods of u and v.
+   *
+   * @param u Vertex
+   * @param v Vertex
+   * @return Shared over combined neighbours, 0 if both have none
+   * @throws IllegalArgumentException if u or v is not present in the graph
+   */
+  public double jaccard(int u, int v) {
+    validateVertex(u);
+    validateVertex(v);
+    return jaccard(u, v, common(u, v));
+  }
+
+  private double jaccard(int u, int v, int common) {
+    int union = degree(u) + degree(v) - common;
+    return union == 0 ? 0 : (double) common / union;
+  }
+
+  /**
+   * Adamic-Adar index of u and v. Shared neighbours of degree one, which only
+   * occur when u equals v, add nothing.
+   *
+   * @param u Vertex
+   * @param v Vertex
+   * @return Sum of 1 / ln(degree(z)) over the shared neighbours z
+   * @throws IllegalArgumentException if u or v is not present in the graph
+   */
+  public double adamicAdar(int u, int v) {
+    validateVertex(u);
+    validateVertex(v);
+    return weighted(u, v);
+  }
+
+  /**
+   * Score of u and v under a measure.
+   *
+   * @param measure Similarity measure
+   * @param u       Vertex
+   * @param v       Vertex
+   * @return Similarity of u and v
+   * @throws IllegalArgumentException if measure is null or u or v is not
+   *                                  present in the graph
+   */
+  public double score(Measure measure, int u, int v) {
+    if (measure == null) {
+      throw new IllegalArgumentException("Measure cannot be null");
+    }
+
+    validateVertex(u);
+    validateVertex(v);
+    switch (measure) {
+      case COMMON_NEIGHBOURS:
+        return common(u, v);
+      case JACCARD:
+        return jaccard(u, v, common(u, v));
+      default:
+        return weighted(u, v);
+    }
+  }
+
+  /**
+   * Scores of many pairs, computed in parallel on the common pool.
+   *
+   * @param measure Similarity measure
+   * @param pairs   Pairs as consecutive vertices
+   * @return Score of every pair, in order
+   * @throws IllegalArgumentException if measure or pairs is null, pairs has odd
+   *                                  length or a vertex is not present in the
+   *                                  graph
+   */
+  public double[] scores(Measure measure, int[] pairs) {
+    if (measure == null) {
+      throw new IllegalArgumentException("Measure cannot be null");
+    }
+
+    if (pairs == null || pairs.length % 2 != 0) {
+      throw new IllegalArgumentException("Pairs must hold an even number of vertices");
+    }
+
+    for (int v : pairs) {
+      validateVertex(v);
+    }
+
+    double[] scores = new double[pairs.length / 2];
+    ForkJoinPool pool = ForkJoinPool.commonPool();
+    Parallel.forEach(pool, 0, scores.length, Parallel.grain(pool, scores.length, MIN_CHUNK),
+        p -> scores[p] = score(measure, pairs[2 * p], pairs[2 * p + 1]));
+    return scores;
+  }
+
+  /**
+   * Number of common neighbours, going through the cheapest of a hub bitmap,
+   * galloping and merging.
+   */
+  private int common(int u, int v) {
+    if (degree(u) > degree(v)) {
+      int swap = u;
+      u = v;
+      v = swap;
+    }
+
+    int[] t = g.targets;
+    int i = g.offsets[u], iEnd = g.offsets[u + 1];
+    int j = g.offsets[v], jEnd = g.offsets[v + 1];
+    int common = 0;
+
+    if (hub[v] != -1) {
+      long[] bits = bitmaps[hub[v]];
+      if (hub[u] != -1 && bits.length < iEnd - i) {
+        long[] other = bitmaps[hub[u]];
+        for (int k = 0; k < bits.length; k++) {
+          common += Long.bitCount(bits[k] & other[k]);
+        }
+        return common;
+      }
+
+      for (; i < iEnd; i++) {
+        common += (int) (bits[t[i] >>> 6] >>> t[i]) & 1;
+      }
+      return common;
+    }
+
+    if (jEnd - j > GALLOP_RATIO * (iEnd - i)) {
+      for (; i < iEnd && j < jEnd; i++) {
+        j = CSR.gallop(t, j, jEnd, t[i]);
+        if (j < jEnd && t[j] == t[i]) {
+          common++;
+        }
+      }
+      return common;
+    }
+
+    while (i < iEnd && j < jEnd) {
+      int a = t[i], b = t[j];
+      common += a == b ? 1 : 0;
+      i += a <= b ? 1 : 0;
+      j += b <= a ? 1 : 0;
+    }
+    return common;
+  }
+
+  /**
+   * Adamic-Adar sum over the common neighbours, found as in common.
+   */
+  private double weighted(int u, int v) {
+    if (degree(u) > degree(v)) {
+      int swap = u;
+      u = v;
+      v = swap;
+    }
+
+    int[] t = g.targets;
+    int i = g.offsets[u], iEnd = g.offsets[u + 1];
+    int j = g.offsets[v], jEnd = g.offsets[v + 1];
+    double sum = 0;
+
+    if (hub[v] != -1) {
+      long[] bits = bitmaps[hub[v]];
+      for (; i < iEnd; i++) {
+        if ((bits[t[i] >>> 6] & 1L << t[i]) != 0) {
+          sum += weight[t[i]];
+        }
+      }
+      return sum;
+    }
+
+    if (jEnd - j > GALLOP_RATIO * (iEnd - i)) {
+      for (; i < iEnd && j < jEnd; i++) {
+        j = CSR.gallop(t, j, jEnd, t[i]);
+        if (j < jEnd && t[j] == t[i]) {
+          sum += weight[t[i]];
+        }
+      }
+      return sum;
+    }
+
+    while (i < iEnd && j < jEnd) {
+      int a = t[i], b = t[j];
+      if (a == b) {
+        sum += weight[a];
+      }
+      i += a <= b ? 1 : 0;
+      j += b <= a ? 1 : 0;
+    }
+    return sum;
+  }
+
+  /**
+   * The k vertices most similar to u that share at least one neighbour with
+   * it, u itself excluded. Ties go to the smaller vertex.
+   *
+   * @param measure Similarity measure
+   * @param u       Vertex
+   * @param k       Maximum number of vertices to return
+   * @return Vertices by decreasing score
+   * @throws IllegalArgumentException if measure is null, u is not present in
+   *                                  the graph or k is negative
+   */
+  public int[] top(Measure measure, int u, int k) {
+    if (measure == null) {
+      throw new IllegalArgumentException("Measure cannot be null");
+    }
+
+    validateVertex(u);
+    if (k < 0) {
+      throw new IllegalArgumentException("k cannot be negative");
+    }
+
+    if (stamp == Integer.MAX_VALUE) {
+      Arrays.fill(seen, 0);
+      stamp = 0;
+    }
+    stamp++;
+
+    // Accumulate shared neighbours over every path u-z-w.
+    int[] candidates = new int[16];
+    int count = 0;
+    boolean weighted = measure == Measure.ADAMIC_ADAR;
+    for (int i = g.offsets[u]; i < g.offsets[u + 1]; i++) {
+      int z = g.targets[i];
+      for (int j = g.offsets[z]; j < g.offsets[z + 1]; j++) {
+        int w = g.targets[j];
+        if (w == u) {
+          continue;
+        }
+        if (seen[w] != stamp) {
+          seen[w] = stamp;
+          hits[w] = 0;
+          sums[w] = 0;
+          if (count == candidates.length) {
+            candidates = Arrays.copyOf(candidates, 2 * count);
+          }
+          candidates[count++] = w;
+        }
+        hits[w]++;
+        if (weighted) {
+          sums[w] += weight[z];
+        }
+      }
+    }
+
+    // Keep the best k in a heap whose root is the worst of them.
+    int du = degree(u);
+    double maxWeight = 0;
+    if (weighted) {
+      for (int i = g.offsets[u]; i < g.offsets[u + 1]; i++) {
+        maxWeight = Math.max(maxWeight, weight[g.targets[i]]);
+      }
+    }
+
+    int[] heap = new int[Math.min(k, count)];
+    double[] score = new double[heap.length];
+    int size = 0;
+    for (int c = 0; c < count && heap.length > 0; c++) {
+      int w = candidates[c];
+      int dw = degree(w);
+      if (size == heap.length) {
+        double bound;
+        switch (measure) {
+          case COMMON_NEIGHBOURS:
+            bound = Math.min(du, dw);
+            break;
+          case JACCARD:
+            bound = (double) Math.min(du, dw) / Math.max(du, dw);
+            break;
+          default:
+            bound = Math.min(du, dw) * maxWeight;
+        }
+        if (bound < score[0]) {
+          continue;
+        }
+      }
+
+      double s;
+      switch (measure) {
+        case COMMON_NEIGHBOURS:
+          s = hits[w];
+          break;
+        case JACCARD:
+          s = jaccard(u, w, hits[w]);
+          break;
+        default:
+          s = sums[w];
+      }
+
+      if (size < heap.length) {
+        heap[size] = w;
+        score[size] = s;
+        up(heap, score, size++);
+      } else if (worse(heap[0], score[0], w, s)) {
+        heap[0] = w;
+        score[0] = s;
+        down(heap, score, size);
+      }
+    }
+
+    int[] best = new int[size];
+    for (int p = size - 1; p >= 0; p--) {
+      best[p] = heap[0];
+      heap[0] = heap[p];
+      score[0] = score[p];
+      down(heap, score, p);
+    }
+    return best;
+  }
+
+  /**
+   * Check if vertex a with score x ranks below vertex b with score y.
+   */
+  private static boolean worse(int a, double x, int b, double y) {
+    return x < y || (x == y && a > b);
+  }
+
+  private static void up(int[] heap, double[] score, int p) {
+    while (p > 0) {
+      int parent = (p - 1) / 2;
+      if (!worse(heap[p], score[p], heap[parent], score[parent])) {
+        return;
+      }
+      swap(heap, score, p, parent);
+      p = parent;
+    }
+  }
+
+  private static void down(int[] heap, double[] score, int size) {
+    int p = 0;
+    while (2 * p + 1 < size) {
+      int c = 2 * p + 1;
+      if (c + 1 < size && worse(heap[c + 1], score[c + 1], heap[c], score[c])) {
+        c++;
+      }
+      if (!worse(heap[c], score[c], heap[p], score[p])) {
+        return;
+      }
+      swap(heap, score, p, c);
+      p = c;
+    }
+  }
+
+  private static void swap(int[] heap, double[] score, int a, int b) {
+    int v = heap[a];
+    heap[a] = heap[b];
+    heap[b] = v;
+    double s = score[a];
+    score[a] = score[b];
+    score[b] = s;
+  }
+}
@@ -0,0 +1,349 @@
+package graphapi;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Strongly connected components of a directed graph.
+ *
+ * The constructors run Tarjan's algorithm with explicit int[] stacks in
+ * O(V + A). Components are then numbered in the order they complete, which is
+ * a reverse topological order of the condensation: every arc between two
+ * components goes from a higher id to a lower one.
+ */
+public class StrongComponents {
+  private CSR g;
+  private int[] componentOf;
+  private int[] sizes;
+
+  /**
+   * Find the strongly connected components of a directed graph.
+   *
+   * @param g Directed graph
+   * @throws IllegalArgumentException if g is null
+   */
+  public StrongComponents(DiGraph g) {
+    this(CSR.of(g));
+  }
+
+  /**
+   * Find the strongly connected components of a graph given by its adjacency
+   * arrays.
+   *
+   * @param g Out-neighbours of every vertex
+   * @throws IllegalArgumentException if g is null
+   */
+  public StrongComponents(CSR g) {
+    if (g == null) {
+      throw new IllegalArgumentException("Graph cannot be null");
+    }
+
+    this.g = g;
+    find();
+  }
+
+  StrongComponents(CSR g, int[] componentOf, int[] sizes) {
+    this.g = g;
+    this.componentOf = componentOf;
+    this.sizes = sizes;
+  }
+
+  private void find() {
+    int n = g.V();
+    int[] offsets = g.offsets;
+    int[] targets = g.targets;
+    int[] index = new int[n];
+    int[] low = new int[n];
+    int[] cursor = new int[n];
+    int[] call = new int[n];
+    int[] stack = new int[n];
+    int[] found = new int[n];
+    int top = 0, sp = 0, clock = 0, count = 0;
+
+    componentOf = new int[n];
+    for (int v = 0; v < n; v++) {
+      index[v] = -1;
+      componentOf[v] = -1;
+    }
+
+    for (int s = 0; s < n; s++) {
+      if (index[s] != -1) {
+        continue;
+      }
+
+      index[s] = low[s] = clock++;
+      cursor[s] = offsets[s];
+      stack[sp++] = s;
+      call[top++] = s;
+
+      while (top > 0) {
+        int v = call[top - 1];
+
+        if (cursor[v] < offsets[v + 1]) {
+          int w = targets[cursor[v]];
+
+          if (index[w] == -1) {
+            index[w] = low[w] = clock++;
+            cursor[w] = offsets[w];
+            stack[sp++] = w;
+            call[top++] = w;
+            continue;
+          }
+
+          if (componentOf[w] == -1 && index[w] < low[v]) {
+            low[v] = index[w];
+          }
+          cursor[v]++;
+          continue;
+        }
+
+        top--;
+        if (top > 0 && low[v] < low[call[top - 1]]) {
+          low[call[top - 1]] = low[v];
+        }
+
+        if (low[v] == index[v]) {
+          int size = 0;
+          int w;
+          do {
+            w = stack[--sp];
+            componentOf[w] = count;
+            size++;
+          } while (w != v);
+          found[count++] = size;
+        }
+      }
+    }
+
+    sizes = new int[count];
+    System.arraycopy(found, 0, sizes, 0, count);
+  }
+
+  private void validateVertex(int v) {
+    if (v < 0 || v >= componentOf.length) {
+      throw new IllegalArgumentException("Vertex must be present in graph");
+    }
+  }
+
+  private void validateComponent(int id) {
+    if (id < 0 || id >= sizes.length) {
+      throw new IllegalArgumentException("Component does not exist");
+    }
+  }
+
+  /**
+   * Number of strongly connected components.
+   *
+   * @return Number of components
+   */
+  public int count() {
+    return sizes.length;
+  }
+
+  /**
+   * Component containing vertex v.
+   *
+   * @param v Vertex
+   * @return Component id
+   * @throws IllegalArgumentException if v is not present in the graph
+   */
+  public int id(int v) {
+    validateVertex(v);
+    return componentOf[v];
+  }
+
+  /**
+   * Number of vertices in a component.
+   *
+   * @param id Component id
+   * @return Size of the component
+   * @throws IllegalArgumentException if the component does not exist
+   */
+  public int size(int id) {
+    validateComponent(id);
+    return sizes[id];
+  }
+
+  /**
+   * Check if v and w can reach each other.
+   *
+   * @param v Vertex
+   * @param w Vertex
+   * @return True if v and w are strongly connected, false otherwise
+   * @throws IllegalArgumentException if v or w is not present in the graph
+   */
+  public boolean stronglyConnected(int v, int w) {
+    return id(v) == id(w);
+  }
+
+  /**
+   * Check if the graph has a cycle, counting self-loops.
+   *
+   * @return True if the graph has a cycle, false otherwise
+   */
+  public boolean hasCycle() {
+    if (sizes.length < componentOf.length) {
+      return true;
+    }
+
+    for (int v = 0; v < componentOf.length; v++) {
+      for (int i = g.offsets[v]; i < g.offsets[v + 1]; i++) {
+        if (g.targets[i] == v) {
+          return true;
+        }
+      }
+    }
+
+    return false;
+  }
+
+  /**
+   * Component of every vertex.
+   *
+   * @return Copy of the labelling
+   */
+  public int[] componentOf() {
+    return componentOf.clone();
+  }
+
+  /**
+   * Size of every component.
+   *
+   * @return Copy of the component sizes
+   */
+  public int[] sizes() {
+    return sizes.clone();
+  }
+
+  /**
+   * Vertices of a component in increasing order.
+   *
+   * @param id Component id
+   * @return Iterable of vertices in the component
+   * @throws IllegalArgumentException if the component does not exist
+   */
+  public Iterable<Integer> component(int id) {
+    validateComponent(id);
+
+    List<Integer> comp = new ArrayList<>(sizes[id]);
+    for (int v = 0; v < componentOf.length; v++) {
+      if (componentOf[v] == id) {
+        comp.add(v);
+      }
+    }
+
+    return comp;
+  }
+
+  /**
+   * Vertices of every component, each in increasing order.
+   *
+   * @return Iterable of components
+   */
+  public Iterable<Iterable<Integer>> components() {
+    List<List<Integer>> comps = new ArrayList<>(sizes.length);
+    for (int size : sizes) {
+      comps.add(new ArrayList<>(size));
+    }
+
+    for (int v = 0; v < componentOf.length; v++) {
+      comps.get(componentOf[v]).add(v);
+    }
+
+    return new ArrayList<Iterable<Integer>>(comps);
+  }
+
+  /**
+   * Condensation of the graph: one vertex per component and one arc for every
+   * pair of components joined by at least one arc.
+   *
+   * @return Directed acyclic graph of the components
+   */
+  public DiGraph condensation() {
+    CSR dag = condensationArrays();
+    DiGraph c = new DiGraph(dag.V());
+
+    for (int v = 0; v < dag.V(); v++) {
+      for (int i = dag.offsets[v]; i < dag.offsets[v + 1]; i++) {
+        c.addEdge(v, dag.targets[i]);
+      }
+    }
+
+    return c;
+  }
+
+  /**
+   * Adjacency arrays of the condensation, without duplicate arcs.
+   *
+   * @return Adjacency arrays of the condensation
+   */
+  CSR condensationArrays() {
+    int n = componentOf.length;
+    int c = sizes.length;
+
+    // Group the vertices by component with a counting sort.
+    int[] start = new int[c + 1];
+    for (int v = 0; v < n; v++) {
+      start[componentOf[v] + 1]++;
+    }
+    for (int k = 0; k < c; k++) {
+      start[k + 1] += start[k];
+    }
+
+    int[] members = new int[n];
+    int[] next = new int[c];
+    System.arraycopy(start, 0, next, 0, c);
+    for (int v = 0; v < n; v++) {
+      members[next[componentOf[v]]++] = v;
+    }
+
+    int[] offsets = new int[c + 1];
+    int[] targets = new int[Math.max(16, Math.min(g.entries(), 1 << 20))];
+    int[] seen = new int[c];
+    int size = 0;
+
+    for (int k = 0; k < c; k++) {
+      seen[k] = -1;
+    }
+
+    for (int k = 0; k < c; k++) {
+      int rowStart = size;
+
+      for (int m = start[k]; m < start[k + 1]; m++) {
+        int v = members[m];
+        for (int i = g.offsets[v]; i < g.offsets[v + 1]; i++) {
+          int to = componentOf[g.targets[i]];
+          if (to != k && seen[to] != k) {
+            seen[to] = k;
+            if (size == targets.length) {
+              targets = Arrays.copyOf(targets, 2 * size);
+            }
+            targets[size++] = to;
+          }
+        }
+      }
+
+      Arrays.sort(targets, rowStart, size);
+      offsets[k + 1] = size;
+    }
+
+    return new CSR(offsets, Arrays.copyOf(targets, size));
+  }
+
+  /**
+   * Check that every arc of a condensation goes to a smaller component id, as
+   * the closure indexes built on it require.
+   *
+   * @param dag Adjacency arrays of the condensation, rows sorted
+   * @throws IllegalArgumentException if an arc goes to a larger id
+   */
+  static void validateOrder(CSR dag) {
+    for (int k = 0; k < dag.V(); k++) {
+      int end = dag.offsets[k + 1];
+      if (end > dag.offsets[k] && dag.targets[end - 1] > k) {
+        throw new IllegalArgumentException("Component ids must be in reverse topological order");
+      }
+    }
+  }
+}
@@ -2,42 +2,69 @@ package graphapi;
 
 public class TransitiveClosure {
   private DiGraph g;
-  private Boolean[][] reachable;
-  private boolean[] marked;
+  private Reachability index;
+  private boolean ownsGraph;
+  private boolean ownsIndex;
 
+  /**
+   * Closure of a directed graph that can grow by addEdge. Queries use a
+   * BitsetClosure until the first arc is added, which replaces it with an
+   * IncrementalClosure of the graph, about V^2/8 bytes, and a private copy of
+   * the graph.
+   *
+   * @param g Directed graph
+   * @throws IllegalArgumentException if g is null
+   */
   public TransitiveClosure(DiGraph g) {
     this.g = g;
-    reachable = new Boolean[g.V()][g.V()];
+    index = new BitsetClosure(g);
+    ownsIndex = true;
   }
 
-  public boolean reachable(int v, int w) {
-    if (reachable[v][w] != null) {
-      return reachable[v][w];
+  /**
+   * Closure of a directed graph answered by a caller-supplied index, which is
+   * never modified. Such a closure cannot grow by addEdge.
+   *
+   * @param g     Directed graph
+   * @param index Reachability index of g
+   * @throws IllegalArgumentException if index is null
+   */
+  public TransitiveClosure(DiGraph g, Reachability index) {
+    if (index == null) {
+      throw new IllegalArgumentException("Index cannot be null");
     }
 
-    marked = new boolean[g.V()];
-    marked[v] = true;
-
-    boolean isReachable = reach(v, w);
-    if (isReachable) {
-      reachable[v][w] = isReachable;
-    }
+    this.g = g;
+    this.index = index;
+  }
 
-    return isReachable;
+  public boolean reachable(int v, int w) {
+    return index.reachable(v, w);
   }
 
-  private boolean reach(int v, int w) {
-    if (v == w) {
-      return true;
+  /**
+   * Add the arc v->w to the closure, leaving the caller's graph unchanged.
+   *
+   * @param v Tail vertex
+   * @param w Head vertex
+   * @throws IllegalArgumentException      if v or w is not present in the
+   *                                       graph
+   * @throws UnsupportedOperationException if the index was supplied by the
+   *                                       caller
+   */
+  public void addEdge(int v, int w) {
+    if (!ownsIndex) {
+      throw new UnsupportedOperationException("Index supplied by the caller cannot be updated");
     }
 
-    for (int u : g.adj(v)) {
-      if (!marked[u] && reach(u, w)) {
-        return true;
-      }
+    if (!ownsGraph) {
+      index = new IncrementalClosure(g);
+      g = g.clone();
+      ownsGraph = true;
     }
 
-    return false;
+    ((IncrementalClosure) index).addEdge(v, w);
+    g.addEdge(v, w);
   }
 
   public DiGraph createClosureGraph(int v, int w) {
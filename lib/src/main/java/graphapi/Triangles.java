@@ -0,0 +1,265 @@
+package graphapi;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Triangle counts and clustering coefficients of an undirected graph.
+ *
+ * Every edge is oriented from the endpoint of lower degree to the one of higher
+ * degree, ties broken by vertex, which leaves each vertex with O(sqrt(E))
+ * out-neighbours and makes every triangle appear exactly once: as the
+ * intersection of the sorted out-rows of its two lowest vertices. Rows of
+ * similar length are intersected by merging; when one is much longer the
+ * shorter one is searched in it by galloping. Vertices are spread over a
+ * fork/join pool, and a triangle found from one vertex is credited to the
+ * other two with atomic additions. Self-loops and parallel edges are ignored.
+ */
+public class Triangles {
+  private static final int MIN_CHUNK = 256;
+  private static final int GALLOP_RATIO = 32;
+
+  private final int[] degree;
+  private final long[] triangles;
+  private long count;
+
+  /**
+   * Count the triangles of a graph on the common pool.
+   *
+   * @param g Graph
+   * @throws IllegalArgumentException if g is null
+   */
+  public Triangles(Graph g) {
+    this(CSR.of(g), ForkJoinPool.commonPool());
+  }
+
+  /**
+   * Count the triangles of a graph given by its adjacency arrays.
+   *
+   * @param g    Adjacency arrays of an undirected graph
+   * @param pool Pool to run on
+   * @throws IllegalArgumentException if g or pool is null
+   */
+  public Triangles(CSR g, ForkJoinPool pool) {
+    if (g == null) {
+      throw new IllegalArgumentException("Graph cannot be null");
+    }
+
+    if (pool == null) {
+      throw new IllegalArgumentException("Pool cannot be null");
+    }
+
+    int n = g.V();
+    degree = new int[n];
+    triangles = new long[n];
+    CSR out = orient(g, pool);
+    AtomicLongArray found = new AtomicLongArray(n);
+
+    Parallel.forEach(pool, 0, n, Parallel.grain(pool, n, MIN_CHUNK), u -> {
+      long own = 0;
+      for (int i = out.offsets[u]; i < out.offsets[u + 1]; i++) {
+        int w = out.targets[i];
+        long common = intersect(out, u, w, found);
+        if (common > 0) {
+          found.addAndGet(w, common);
+          own += common;
+        }
+      }
+      if (own > 0) {
+        found.addAndGet(u, own);
+      }
+    });
+
+    Parallel.forEach(pool, 0, n, Parallel.grain(pool, n, MIN_CHUNK), v -> triangles[v] = found.get(v));
+    for (long t : triangles) {
+      count += t;
+    }
+    count /= 3;
+  }
+
+  /**
+   * Distinct non-loop degrees, and the arcs from every vertex to its neighbours
+   * of higher rank, rows kept sorted.
+   */
+  private CSR orient(CSR g, ForkJoinPool pool) {
+    int n = g.V();
+    int grain = Parallel.grain(pool, n, MIN_CHUNK);
+    int[] offsets = new int[n + 1];
+
+    Parallel.forEach(pool, 0, n, grain, v -> {
+      int up = 0;
+      for (int i = g.offsets[v]; i < g.offsets[v + 1]; i++) {
+        int w = g.targets[i];
+        if (w == v || (i > g.offsets[v] && w == g.targets[i - 1])) {
+          continue;
+        }
+        degree[v]++;
+        if (ranked(g, v, w)) {
+          up++;
+        }
+      }
+      offsets[v + 1] = up;
+    });
+
+    for (int v = 0; v < n; v++) {
+      offsets[v + 1] += offsets[v];
+    }
+
+    int[] targets = new int[offsets[n]];
+    Parallel.forEach(pool, 0, n, grain, v -> {
+      int k = offsets[v];
+      for (int i = g.offsets[v]; i < g.offsets[v + 1]; i++) {
+        int w = g.targets[i];
+        if (w == v || (i > g.offsets[v] && w == g.targets[i - 1])) {
+          continue;
+        }
+        if (ranked(g, v, w)) {
+          targets[k++] = w;
+        }
+      }
+    });
+
+    return new CSR(offsets, targets);
+  }
+
+  private static boolean ranked(CSR g, int v, int w) {
+    int dv = g.degree(v), dw = g.degree(w);
+    return dv < dw || (dv == dw && v < w);
+  }
+
+  /**
+   * Number of common out-neighbours of u and w, each of which is credited
+   * with one triangle.
+   */
+  private static long intersect(CSR out, int u, int w, AtomicLongArray found) {
+    int i = out.offsets[u], iEnd = out.offsets[u + 1];
+    int j = out.offsets[w], jEnd = out.offsets[w + 1];
+    int[] t = out.targets;
+    long common = 0;
+
+    if (iEnd - i > GALLOP_RATIO * (jEnd - j) || jEnd - j > GALLOP_RATIO * (iEnd - i)) {
+      if (iEnd - i > jEnd - j) {
+        int swap = i;
+        i = j;
+        j = swap;
+        swap = iEnd;
+        iEnd = jEnd;
+        jEnd = swap;
+      }
+
+      for (; i < iEnd && j < jEnd; i++) {
+        j = CSR.gallop(t, j, jEnd, t[i]);
+        if (j < jEnd && t[j] == t[i]) {
+          found.incrementAndGet(t[i]);
+          common++;
+          j++;
+        }
+      }
+      return common;
+    }
+
+    while (i < iEnd && j < jEnd) {
+      if (t[i] < t[j]) {
+        i++;
+      } else if (t[i] > t[j]) {
+        j++;
+      } else {
+        found.incrementAndGet(t[i]);
+        common++;
+        i++;
+        j++;
+      }
+    }
+    return common;
+  }
+
+  private void validateVertex(int v) {
+    if (v < 0 || v >= triangles.length) {
+      throw new IllegalArgumentException("Vertex must be present in graph");
+    }
+  }
+
+  /**
+   * Number of triangles in the graph.
+   *
+   * @return Number of triangles
+   */
+  public long count() {
+    return count;
+  }
+
+  /**
+   * Number of triangles containing v.
+   *
+   * @param v Vertex
+   * @return Number of triangles containing v
+   * @throws IllegalArgumentException if v is not present in the graph
+   */
+  public long count(int v) {
+    validateVertex(v);
+    return triangles[v];
+  }
+
+  /**
+   * Number of triangles containing every vertex.
+   *
+   * @return Copy of the per-vertex counts
+   */
+  public long[] counts() {
+    return triangles.clone();
+  }
+
+  /**
+   * Local clustering coefficient of v: the fraction of pairs of neighbours of v
+   * that are adjacent.
+   *
+   * @param v Vertex
+   * @return Clustering coefficient of v, 0 if v has fewer than two neighbours
+   * @throws IllegalArgumentException if v is not present in the graph
+   */
+  public double clustering(int v) {
+    validateVertex(v);
+    long d = degree[v];
+    return d < 2 ? 0 : 2.0 * triangles[v] / (d * (d - 1));
+  }
+
+  /**
+   * Local clustering coefficients of all vertices.
+   *
+   * @return Clustering coefficient of every vertex
+   */
+  public double[] clustering() {
+    double[] c = new double[triangles.length];
+    for (int v = 0; v < c.length; v++) {
+      c[v] = clustering(v);
+    }
+    return c;
+  }
+
+  /**
+   * Mean of the local clustering coefficients.
+   *
+   * @return Average clustering coefficient, 0 for an empty graph
+   */
+  public double averageClustering() {
+    double sum = 0;
+    for (int v = 0; v < triangles.length; v++) {
+      sum += clustering(v);
+    }
+    return triangles.length == 0 ? 0 : sum / triangles.length;
+  }
+
+  /**
+   * Global clustering coefficient: three times the number of triangles over
+   * the number of paths of length two.
+   *
+   * @return Transitivity, 0 if the graph has no path of length two
+   */
+  public double transitivity() {
+    long wedges = 0;
+    for (int d : degree) {
+      wedges += (long) d * (d - 1) / 2;
+    }
+    return wedges == 0 ? 0 : 3.0 * count / wedges;
+  }
+}
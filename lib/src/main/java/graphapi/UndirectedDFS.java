@@ -1,41 +1,21 @@
 package graphapi;
 
 public class UndirectedDFS {
-  private Graph g;
-  private boolean[] marked;
-  private int[] edgeTo;
-  private int count;
+  private IterativeDFS dfs;
 
   public UndirectedDFS(Graph g, int v) {
-    this.g = g;
-    marked = new boolean[g.V()];
-    edgeTo = new int[g.V()];
-    count = 0;
-    edgeTo[v] = -1;
-    findReachable(v);
-  }
-
-  private void findReachable(int v) {
-    count++;
-    marked[v] = true;
-
-    for (int w : g.adj(v)) {
-      if (!marked[w]) {
-        edgeTo[w] = v;
-        findReachable(w);
-      }
-    }
+    dfs = new IterativeDFS(CSR.of(g)).search(v);
   }
 
   public int count() {
-    return count;
+    return dfs.count();
   }
 
   public boolean marked(int v) {
-    return marked[v];
+    return dfs.marked(v);
   }
 
   public int edgeTo(int v) {
-    return edgeTo[v];
+    return dfs.edgeTo(v);
   }
 }
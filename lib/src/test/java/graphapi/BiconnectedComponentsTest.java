@@ -0,0 +1,138 @@
+package graphapi;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Random;
+import org.junit.Test;
+
+public class BiconnectedComponentsTest {
+  /**
+   * Two triangles joined by the bridge 2-3, and a vertex with only a
+   * self-loop.
+   */
+  private static Graph triangles() {
+    Graph g = new Graph(7);
+    g.addEdge(0, 1);
+    g.addEdge(1, 2);
+    g.addEdge(2, 0);
+    g.addEdge(3, 4);
+    g.addEdge(4, 5);
+    g.addEdge(5, 3);
+    g.addEdge(2, 3);
+    g.addEdge(6, 6);
+    return g;
+  }
+
+  /**
+   * Check if w can be reached from v without using the vertex or the edge
+   * removed, -1 for none.
+   */
+  private static boolean connected(Graph g, int v, int w, int vertex, int a, int b) {
+    boolean[] seen = new boolean[g.V()];
+    int[] stack = new int[g.V()];
+    int top = 0;
+    stack[top++] = v;
+    seen[v] = true;
+    while (top > 0) {
+      int x = stack[--top];
+      for (int y : g.adj(x)) {
+        boolean removed = (x == a && y == b) || (x == b && y == a);
+        if (!seen[y] && y != vertex && !removed) {
+          seen[y] = true;
+          stack[top++] = y;
+        }
+      }
+    }
+    return seen[w];
+  }
+
+  @Test
+  public void findBlocksOfJoinedTriangles() {
+    BiconnectedComponents b = new BiconnectedComponents(triangles());
+
+    assertEquals(3, b.count());
+    assertEquals(3, b.size(b.block(0, 1)));
+    assertEquals(3, b.size(b.block(4, 5)));
+    assertEquals(1, b.size(b.block(2, 3)));
+    assertEquals(b.block(0, 1), b.block(2, 0));
+    assertEquals(-1, b.block(6, 6));
+    assertEquals(-1, b.block(0, 4));
+
+    for (int v = 0; v < 6; v++) {
+      assertTrue(b.onCycle(v));
+    }
+    assertFalse(b.onCycle(6));
+
+    assertArrayEquals(new int[] { 2, 3 }, b.articulationPoints());
+    assertTrue(b.isArticulation(2));
+    assertFalse(b.isArticulation(0));
+    assertFalse(b.isArticulation(6));
+
+    assertTrue(b.isBridge(2, 3));
+    assertTrue(b.isBridge(3, 2));
+    assertFalse(b.isBridge(0, 1));
+    assertFalse(b.isBridge(6, 6));
+    assertArrayEquals(new int[] { 2, 3 }, b.bridges());
+  }
+
+  @Test
+  public void hasContoursFollowsEdgeChanges() {
+    Graph g = triangles();
+    g.addEdge(5, 6);
+    assertTrue(g.hasContours(0));
+    assertFalse(g.hasContours(6));
+
+    g.removeEdge(0, 1);
+    assertFalse(g.hasContours(0));
+    assertFalse(g.hasContours(2));
+    assertTrue(g.hasContours(3));
+
+    g.addEdge(0, 4);
+    assertTrue(g.hasContours(0));
+    assertTrue(g.hasContours(2));
+    assertFalse(g.hasContours(6));
+    assertFalse(new BiconnectedComponents(g).isBridge(2, 3));
+
+    g.addEdge(6, 0);
+    assertTrue(g.hasContours(6));
+    assertTrue(g.dfsCountourFinder(6));
+  }
+
+  @Test
+  public void matchBruteForceOnRandomGraphs() {
+    Random random = new Random(9);
+    for (int round = 0; round < 200; round++) {
+      int n = 1 + random.nextInt(12);
+      Graph g = RandomGraphs.graph(n, random.nextInt(2 * n), random.nextLong());
+      BiconnectedComponents b = new BiconnectedComponents(g);
+
+      int bridges = 0;
+      for (int v = 0; v < n; v++) {
+        boolean cycle = false;
+        boolean articulation = false;
+        for (int w : g.adj(v)) {
+          if (w == v) {
+            continue;
+          }
+
+          boolean bridge = !connected(g, v, w, -1, v, w);
+          assertEquals(bridge, b.isBridge(v, w));
+          cycle |= !bridge;
+          bridges += bridge ? 1 : 0;
+
+          for (int x : g.adj(v)) {
+            if (x != v && x != w && !connected(g, w, x, v, -1, -1)) {
+              articulation = true;
+            }
+          }
+        }
+        assertEquals(cycle, b.onCycle(v));
+        assertEquals(articulation, b.isArticulation(v));
+      }
+      assertEquals(bridges, b.bridges().length);
+    }
+  }
+}
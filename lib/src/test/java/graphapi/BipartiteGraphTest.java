@@ -0,0 +1,113 @@
+package graphapi;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.Random;
+import org.junit.Test;
+
+public class BipartiteGraphTest {
+  /**
+   * Size of a maximum matching by one augmenting path search per vertex of
+   * side 0 (Kuhn).
+   */
+  private static int kuhn(Graph g, int[] left) {
+    int[] mate = new int[g.V()];
+    Arrays.fill(mate, -1);
+    int size = 0;
+    for (int u : left) {
+      if (augment(g, u, mate, new boolean[g.V()])) {
+        size++;
+      }
+    }
+    return size;
+  }
+
+  private static boolean augment(Graph g, int u, int[] mate, boolean[] seen) {
+    for (int w : g.adj(u)) {
+      if (!seen[w]) {
+        seen[w] = true;
+        if (mate[w] == -1 || augment(g, mate[w], mate, seen)) {
+          mate[w] = u;
+          return true;
+        }
+      }
+    }
+    return false;
+  }
+
+  @Test
+  public void partitionFollowsEdgeChanges() {
+    Graph g = new Graph(3);
+    g.addEdge(0, 1);
+    g.addEdge(1, 2);
+    BipartiteGraph b = new BipartiteGraph(g);
+
+    Bipartition sides = b.partition();
+    assertSame(sides, b.partition());
+    assertTrue(b.validateBipartite());
+
+    g.addEdge(0, 2);
+    assertFalse(b.validateBipartite());
+
+    g.removeEdge(0, 2);
+    assertTrue(b.validateBipartite());
+  }
+
+  @Test
+  public void matchPath() {
+    Graph g = new Graph(4);
+    g.addEdge(0, 1);
+    g.addEdge(1, 2);
+    g.addEdge(2, 3);
+
+    HopcroftKarp matching = new BipartiteGraph(g).maximumMatching();
+    assertEquals(2, matching.size());
+    assertEquals(1, matching.mate(0));
+    assertEquals(2, matching.mate(3));
+  }
+
+  @Test
+  public void augmentBeyondGreedy() {
+    Graph g = new Graph(4);
+    g.addEdge(0, 1);
+    g.addEdge(0, 3);
+    g.addEdge(2, 1);
+
+    HopcroftKarp matching = new BipartiteGraph(g).maximumMatching();
+    assertEquals(2, matching.size());
+    assertEquals(1, matching.mate(2));
+    assertEquals(3, matching.mate(0));
+  }
+
+  @Test
+  public void matchRandomGraphsLikeKuhn() {
+    Random random = new Random(3);
+    for (int round = 0; round < 300; round++) {
+      int left = 1 + random.nextInt(30);
+      int right = 1 + random.nextInt(30);
+      Graph g = new Graph(left + right);
+      int m = random.nextInt(3 * (left + right));
+      for (int i = 0; i < m; i++) {
+        g.addEdge(random.nextInt(left), left + random.nextInt(right));
+      }
+
+      BipartiteGraph b = new BipartiteGraph(g);
+      HopcroftKarp matching = b.maximumMatching();
+      assertEquals(kuhn(g, b.partition().left()), matching.size());
+
+      int[] pairs = matching.matching();
+      boolean[] used = new boolean[g.V()];
+      for (int i = 0; i < pairs.length; i += 2) {
+        assertTrue(g.hasEdge(pairs[i], pairs[i + 1]));
+        assertFalse(used[pairs[i]] || used[pairs[i + 1]]);
+        used[pairs[i]] = true;
+        used[pairs[i + 1]] = true;
+        assertEquals(pairs[i], matching.mate(pairs[i + 1]));
+      }
+    }
+  }
+}
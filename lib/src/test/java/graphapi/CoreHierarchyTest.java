@@ -0,0 +1,132 @@
+package graphapi;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import org.junit.Test;
+
+public class CoreHierarchyTest {
+  /**
+   * Neighbours of every vertex of g in the numbering of the whole graph,
+   * given the original vertex of every vertex of g.
+   */
+  private static List<List<Integer>> rows(CSR g, int[] original, int n) {
+    List<List<Integer>> rows = new ArrayList<>();
+    for (int v = 0; v < n; v++) {
+      rows.add(new ArrayList<>());
+    }
+    for (int v = 0; v < g.V(); v++) {
+      for (int i = g.offsets[v]; i < g.offsets[v + 1]; i++) {
+        rows.get(original[v]).add(original[g.targets[i]]);
+      }
+    }
+    for (List<Integer> row : rows) {
+      Collections.sort(row);
+    }
+    return rows;
+  }
+
+  private static void assertHierarchy(Graph g) {
+    CoreHierarchy cores = new CoreHierarchy(g);
+    int[] expected = Algorithms.kCoreDecompose(g);
+    assertArrayEquals(expected, cores.cores());
+
+    int degeneracy = 0;
+    for (int c : expected) {
+      degeneracy = Math.max(degeneracy, c);
+    }
+    assertEquals(degeneracy, cores.degeneracy());
+
+    int[] order = cores.degeneracyOrder();
+    int[] position = new int[g.V()];
+    for (int p = 0; p < order.length; p++) {
+      position[order[p]] = p;
+    }
+    for (int v = 0; v < g.V(); v++) {
+      int later = 0;
+      for (int w : g.adj(v)) {
+        later += position[w] > position[v] ? 1 : 0;
+      }
+      assertTrue(later <= degeneracy);
+    }
+
+    for (int k = 0; k <= degeneracy + 2; k++) {
+      int[] vertices = cores.vertices(k);
+      assertEquals(vertices.length, cores.size(k));
+      for (int i = 0; i < vertices.length; i++) {
+        assertTrue(expected[vertices[i]] >= k);
+        assertTrue(i == 0 || expected[vertices[i]] <= expected[vertices[i - 1]]);
+      }
+
+      int[] inside = new int[vertices.length];
+      int size = 0;
+      for (int v = 0; v < g.V(); v++) {
+        if (expected[v] >= k) {
+          inside[size++] = v;
+        }
+      }
+      assertEquals(size, vertices.length);
+
+      CSR core = cores.kCore(k);
+      assertEquals(size, core.V());
+      for (int v = 0; v < core.V(); v++) {
+        for (int i = core.offsets[v] + 1; i < core.offsets[v + 1]; i++) {
+          assertTrue(core.targets[i - 1] <= core.targets[i]);
+        }
+      }
+
+      Graph induced = Graph.induceKCore(g, expected, k);
+      assertEquals(rows(CSR.of(induced), inside, g.V()), rows(core, vertices, g.V()));
+    }
+  }
+
+  @Test
+  public void matchInducedCoresOnRandomGraphs() {
+    for (long seed = 0; seed < 30; seed++) {
+      int n = 10 + (int) seed * 3;
+      assertHierarchy(RandomGraphs.graph(n, (int) (seed % 6) * n, seed));
+    }
+  }
+
+  @Test
+  public void peelCliqueWithTail() {
+    Graph g = new Graph(7);
+    for (int v = 0; v < 4; v++) {
+      for (int w = v + 1; w < 4; w++) {
+        g.addEdge(v, w);
+      }
+    }
+    g.addEdge(3, 4);
+    g.addEdge(4, 5);
+    assertHierarchy(g);
+
+    CoreHierarchy cores = new CoreHierarchy(g);
+    assertEquals(3, cores.degeneracy());
+    assertEquals(7, cores.size(0));
+    assertEquals(6, cores.size(1));
+    assertEquals(4, cores.size(3));
+    assertEquals(0, cores.size(4));
+    int[] clique = cores.vertices(3);
+    Arrays.sort(clique);
+    assertArrayEquals(new int[] { 0, 1, 2, 3 }, clique);
+    assertEquals(12, cores.kCore(3).entries());
+  }
+
+  @Test
+  public void decomposeEmptyGraph() {
+    Graph g = new Graph();
+    assertHierarchy(g);
+
+    CoreHierarchy cores = new CoreHierarchy(g);
+    assertEquals(0, cores.degeneracy());
+    assertEquals(0, cores.size(0));
+    assertEquals(0, cores.vertices(1).length);
+    assertEquals(0, cores.kCore(0).V());
+    assertEquals(0, cores.kCore(5).V());
+  }
+}
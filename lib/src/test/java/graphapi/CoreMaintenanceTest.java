@@ -0,0 +1,68 @@
+package graphapi;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+import java.util.Random;
+import org.junit.Test;
+
+public class CoreMaintenanceTest {
+  private static Graph.Edge[] batch(Graph g, Random random, int size) {
+    Graph.Edge[] edges = new Graph.Edge[size];
+    for (int i = 0; i < size; i++) {
+      edges[i] = g.new Edge(random.nextInt(g.V()), random.nextInt(g.V()));
+    }
+    return edges;
+  }
+
+  private static void assertCores(CoreMaintenance cores) {
+    assertArrayEquals(Algorithms.kCoreDecompose(cores.graph()), cores.cores());
+  }
+
+  @Test
+  public void matchDecompositionAfterMixedUpdates() {
+    Random random = new Random(7);
+    Graph g = new Graph(120);
+    CoreMaintenance cores = new CoreMaintenance(g);
+
+    for (int round = 0; round < 30; round++) {
+      for (int i = 0; i < 20; i++) {
+        int v = random.nextInt(g.V());
+        int w = random.nextInt(g.V());
+        if (v == w) {
+          continue;
+        }
+
+        if (random.nextInt(3) == 0) {
+          cores.removeEdge(v, w);
+        } else {
+          cores.addEdge(v, w);
+        }
+        assertCores(cores);
+      }
+
+      // Small batches run the traversals; large ones rebuild.
+      int size = round % 3 == 0 ? 200 : 30;
+      if (round % 2 == 0) {
+        cores.addEdges(batch(g, random, size));
+      } else {
+        cores.removeEdges(batch(g, random, size));
+      }
+      assertCores(cores);
+    }
+  }
+
+  @Test
+  public void countBatchChanges() {
+    Graph g = new Graph(4);
+    CoreMaintenance cores = new CoreMaintenance(g);
+
+    Graph.Edge[] triangle = { g.new Edge(0, 1), g.new Edge(1, 2), g.new Edge(2, 0), g.new Edge(0, 1) };
+    assertEquals(3, cores.addEdges(triangle));
+    assertEquals(2, cores.core(0));
+    assertEquals(0, cores.core(3));
+
+    assertEquals(1, cores.removeEdges(new Graph.Edge[] { g.new Edge(0, 1), g.new Edge(0, 3) }));
+    assertCores(cores);
+  }
+}
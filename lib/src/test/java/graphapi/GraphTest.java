@@ -1,5 +1,11 @@
 package graphapi;
 
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
 import org.junit.Test;
 
 public class GraphTest {
@@ -12,4 +18,103 @@ public class GraphTest {
   public void useNonEmptyConstructor() {
     Graph g = new Graph(10);
   }
+
+  @Test
+  public void searchLongChain() {
+    int n = 100000;
+    Graph g = new Graph(n);
+    for (int v = 0; v + 1 < n; v++) {
+      g.addEdge(v, v + 1);
+    }
+
+    UndirectedDFS dfs = new UndirectedDFS(g, 0);
+    assertEquals(n, dfs.count());
+    assertTrue(dfs.marked(n - 1));
+    for (int v = n - 1; v > 0; v--) {
+      assertEquals(v - 1, dfs.edgeTo(v));
+    }
+  }
+
+  @Test
+  public void hasPathFollowsEdgeChanges() {
+    Graph g = new Graph(4);
+    g.addEdge(0, 1);
+    assertFalse(g.hasPath(0, 2));
+
+    g.addEdge(1, 2);
+    assertTrue(g.hasPath(0, 2));
+
+    g.removeEdge(1, 2);
+    assertFalse(g.hasPath(0, 2));
+    assertTrue(g.hasPath(0, 1));
+  }
+
+  @Test
+  public void pathIsShortest() {
+    Graph g = new Graph(6);
+    for (int v = 0; v < 6; v++) {
+      g.addEdge(v, (v + 1) % 6);
+    }
+
+    int length = 0;
+    for (int v : g.path(0, 5)) {
+      length++;
+    }
+
+    assertEquals(2, length);
+  }
+
+  @Test
+  public void induceKCoreRenumbersVertices() {
+    Graph g = new Graph(5);
+    g.addEdge(0, 4);
+    g.addEdge(1, 2);
+    g.addEdge(2, 3);
+    g.addEdge(3, 1);
+
+    Graph core = Graph.induceKCore(g, Algorithms.kCoreDecompose(g), 2);
+
+    assertEquals(3, core.V());
+    assertTrue(core.hasEdge(0, 1));
+    assertTrue(core.hasEdge(1, 2));
+    assertTrue(core.hasEdge(2, 0));
+  }
+
+  @Test
+  public void pathFromSeveralThreads() throws InterruptedException {
+    int n = 20000;
+    Graph g = new Graph(n);
+    for (int v = 0; v < n; v++) {
+      g.addEdge(v, (v + 1) % n);
+    }
+
+    AtomicInteger wrong = new AtomicInteger();
+    Thread[] threads = new Thread[4];
+    for (int i = 0; i < threads.length; i++) {
+      long seed = i;
+      threads[i] = new Thread(() -> {
+        Random random = new Random(seed);
+        for (int q = 0; q < 50; q++) {
+          int v = random.nextInt(n);
+          int w = random.nextInt(n);
+          int d = Math.min(Math.abs(v - w), n - Math.abs(v - w));
+          int length = -1;
+          for (int x : g.path(v, w)) {
+            length++;
+          }
+          if (length != d) {
+            wrong.incrementAndGet();
+          }
+        }
+      });
+      threads[i].setDaemon(true);
+      threads[i].start();
+    }
+
+    for (Thread t : threads) {
+      t.join(60000);
+      assertFalse(t.isAlive());
+    }
+    assertEquals(0, wrong.get());
+  }
 }
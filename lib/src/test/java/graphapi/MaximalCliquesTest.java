@@ -0,0 +1,108 @@
+package graphapi;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import org.junit.Test;
+
+public class MaximalCliquesTest {
+  /**
+   * Maximal cliques with at least minSize vertices by plain Bron-Kerbosch.
+   */
+  private static Set<List<Integer>> reference(Graph g, int minSize) {
+    Set<List<Integer>> cliques = new HashSet<>();
+    Set<Integer> candidates = new HashSet<>();
+    for (int v = 0; v < g.V(); v++) {
+      candidates.add(v);
+    }
+    expand(g, new ArrayList<>(), candidates, new HashSet<>(), minSize, cliques);
+    return cliques;
+  }
+
+  private static void expand(Graph g, List<Integer> clique, Set<Integer> candidates,
+      Set<Integer> excluded, int minSize, Set<List<Integer>> cliques) {
+    if (candidates.isEmpty() && excluded.isEmpty()) {
+      if (clique.size() >= minSize) {
+        List<Integer> sorted = new ArrayList<>(clique);
+        Collections.sort(sorted);
+        cliques.add(sorted);
+      }
+      return;
+    }
+
+    for (int v : new ArrayList<>(candidates)) {
+      Set<Integer> p = new HashSet<>();
+      Set<Integer> x = new HashSet<>();
+      for (int w : g.adj(v)) {
+        if (w != v && candidates.contains(w)) {
+          p.add(w);
+        }
+        if (w != v && excluded.contains(w)) {
+          x.add(w);
+        }
+      }
+
+      clique.add(v);
+      expand(g, clique, p, x, minSize, cliques);
+      clique.remove(clique.size() - 1);
+      candidates.remove(v);
+      excluded.add(v);
+    }
+  }
+
+  private static List<List<Integer>> enumerate(Graph g, int minSize, ForkJoinPool pool) {
+    List<List<Integer>> found = Collections.synchronizedList(new ArrayList<>());
+    MaximalCliques.enumerate(CSR.of(g), minSize, pool, clique -> {
+      List<Integer> list = new ArrayList<>();
+      for (int v : clique) {
+        list.add(v);
+      }
+      found.add(list);
+    });
+    return found;
+  }
+
+  @Test
+  public void matchBronKerboschOnRandomGraphs() {
+    ForkJoinPool pool = new ForkJoinPool(4);
+    try {
+      for (long seed = 0; seed < 60; seed++) {
+        // From empty graphs with only isolated vertices to dense ones with
+        // large cliques; self-loops come with the generator.
+        int n = 5 + (int) (seed % 20);
+        Graph g = RandomGraphs.graph(n, (int) (seed % 5) * 2 * n, seed);
+
+        for (int minSize = 1; minSize <= 4; minSize++) {
+          List<List<Integer>> found = enumerate(g, minSize, pool);
+          Set<List<Integer>> distinct = new HashSet<>(found);
+          assertEquals(found.size(), distinct.size());
+          assertEquals(reference(g, minSize), distinct);
+        }
+      }
+    } finally {
+      pool.shutdown();
+    }
+  }
+
+  @Test
+  public void reportIsolatedVerticesAndCount() {
+    Graph g = new Graph(6);
+    g.addEdge(0, 1);
+    g.addEdge(1, 2);
+    g.addEdge(2, 0);
+    g.addEdge(2, 3);
+    g.addEdge(4, 4);
+
+    Set<List<Integer>> expected = new HashSet<>(Arrays.asList(
+        Arrays.asList(0, 1, 2), Arrays.asList(2, 3), Arrays.asList(4), Arrays.asList(5)));
+    assertEquals(expected, new HashSet<>(enumerate(g, 1, ForkJoinPool.commonPool())));
+    assertEquals(4, MaximalCliques.count(g));
+    assertEquals(1, enumerate(g, 3, ForkJoinPool.commonPool()).size());
+  }
+}
@@ -0,0 +1,59 @@
+package graphapi;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.Random;
+import org.junit.Test;
+
+public class PrunedLandmarkLabelingTest {
+  @Test
+  public void loadLeavesTrailingData() throws IOException {
+    Graph g = RandomGraphs.graph(3000, 6000, 11);
+    PrunedLandmarkLabeling labels = new PrunedLandmarkLabeling(g);
+
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    labels.save(bytes);
+    new DataOutputStream(bytes).writeInt(42);
+
+    ByteArrayInputStream in = new ByteArrayInputStream(bytes.toByteArray());
+    PrunedLandmarkLabeling loaded = PrunedLandmarkLabeling.load(in);
+    assertEquals(42, new DataInputStream(in).readInt());
+
+    Random random = new Random(5);
+    for (int i = 0; i < 2000; i++) {
+      int v = random.nextInt(g.V());
+      int w = random.nextInt(g.V());
+      assertEquals(labels.distance(v, w), loaded.distance(v, w));
+    }
+  }
+
+  @Test
+  public void rejectDecreasingOffsets() throws IOException {
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    DataOutputStream data = new DataOutputStream(bytes);
+    data.writeInt(0x504c4c31);
+    data.writeInt(2);
+    data.writeInt(2);
+    for (int offset : new int[] { 0, 3, 2 }) {
+      data.writeInt(offset);
+    }
+    for (int i = 0; i < 2; i++) {
+      data.writeInt(i);
+      data.writeInt(0);
+    }
+
+    try {
+      PrunedLandmarkLabeling.load(new ByteArrayInputStream(bytes.toByteArray()));
+      fail();
+    } catch (IOException e) {
+      assertTrue(e.getMessage().contains("corrupt"));
+    }
+  }
+}
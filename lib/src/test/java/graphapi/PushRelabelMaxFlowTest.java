@@ -0,0 +1,113 @@
+package graphapi;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+public class PushRelabelMaxFlowTest {
+  private static final double EPSILON = 1e-9;
+
+  /**
+   * Network of Cormen, Leiserson, Rivest and Stein, with maximum flow 23 from
+   * 0 to 5.
+   */
+  private static EdgeWeightedDiGraph network() {
+    EdgeWeightedDiGraph g = new EdgeWeightedDiGraph(6);
+    g.addArc(new WeightedArc(0, 1, 16));
+    g.addArc(new WeightedArc(0, 2, 13));
+    g.addArc(new WeightedArc(1, 3, 12));
+    g.addArc(new WeightedArc(2, 1, 4));
+    g.addArc(new WeightedArc(2, 4, 14));
+    g.addArc(new WeightedArc(3, 2, 9));
+    g.addArc(new WeightedArc(3, 5, 20));
+    g.addArc(new WeightedArc(4, 3, 7));
+    g.addArc(new WeightedArc(4, 5, 4));
+    return g;
+  }
+
+  private static void assertProperFlow(EdgeWeightedDiGraph g, int s, int t, PushRelabelMaxFlow flow) {
+    double[] flows = flow.flows();
+    double[] balance = new double[g.V()];
+    int k = 0;
+    for (WeightedArc a : g.arcs()) {
+      assertTrue(flows[k] >= -EPSILON);
+      assertTrue(flows[k] <= a.weight() + EPSILON);
+      balance[a.from()] -= flows[k];
+      balance[a.to()] += flows[k];
+      k++;
+    }
+    assertEquals(g.A(), k);
+
+    for (int v = 0; v < g.V(); v++) {
+      if (v != s && v != t) {
+        assertEquals(0, balance[v], EPSILON);
+      }
+    }
+    assertEquals(flow.value(), balance[t], EPSILON);
+    assertEquals(-flow.value(), balance[s], EPSILON);
+  }
+
+  private static void assertMinimumCut(EdgeWeightedDiGraph g, int s, int t, PushRelabelMaxFlow flow) {
+    assertTrue(flow.inCut(s));
+    assertFalse(flow.inCut(t));
+
+    double capacity = 0;
+    for (WeightedArc a : g.arcs()) {
+      if (flow.inCut(a.from()) && !flow.inCut(a.to())) {
+        capacity += a.weight();
+      }
+    }
+    assertEquals(flow.value(), capacity, EPSILON);
+  }
+
+  @Test
+  public void valueOfKnownNetwork() {
+    PushRelabelMaxFlow flow = new PushRelabelMaxFlow(network(), 0, 5);
+    assertEquals(23, flow.value(), EPSILON);
+  }
+
+  @Test
+  public void flowsAreConservedAndBounded() {
+    EdgeWeightedDiGraph g = network();
+    assertProperFlow(g, 0, 5, new PushRelabelMaxFlow(g, 0, 5));
+
+    for (long seed = 0; seed < 50; seed++) {
+      g = RandomGraphs.network(30, 120, 20, seed);
+      assertProperFlow(g, 0, 29, new PushRelabelMaxFlow(g, 0, 29));
+    }
+  }
+
+  @Test
+  public void cutCapacityEqualsValue() {
+    EdgeWeightedDiGraph g = network();
+    PushRelabelMaxFlow flow = new PushRelabelMaxFlow(g, 0, 5);
+    assertMinimumCut(g, 0, 5, flow);
+    assertArrayEquals(new int[] { 0, 1, 2, 4 }, flow.cut());
+
+    for (long seed = 0; seed < 50; seed++) {
+      g = RandomGraphs.network(30, 120, 20, seed);
+      assertMinimumCut(g, 0, 29, new PushRelabelMaxFlow(g, 0, 29));
+    }
+  }
+
+  @Test
+  public void countArcsAfterAddArc() {
+    EdgeWeightedDiGraph g = new EdgeWeightedDiGraph(3);
+    assertEquals(0, g.A());
+
+    g.addArc(new WeightedArc(0, 1, 1));
+    g.addArc(new WeightedArc(1, 2, 2));
+    g.addArc(new WeightedArc(1, 2, 3));
+    assertEquals(3, g.A());
+
+    int count = 0;
+    for (WeightedArc a : g.arcs()) {
+      count++;
+    }
+    assertEquals(3, count);
+    assertEquals(1, new PushRelabelMaxFlow(g, 0, 2).value(), EPSILON);
+  }
+}
@@ -0,0 +1,41 @@
+package graphapi;
+
+import java.util.Random;
+
+/**
+ * Seeded random graphs for tests, with self-loops and repeated pairs left in.
+ */
+final class RandomGraphs {
+  private RandomGraphs() {
+  }
+
+  static Graph graph(int n, int m, long seed) {
+    Random random = new Random(seed);
+    Graph g = new Graph(n);
+    for (int i = 0; i < m; i++) {
+      g.addEdge(random.nextInt(n), random.nextInt(n));
+    }
+    return g;
+  }
+
+  static DiGraph digraph(int n, int m, long seed) {
+    Random random = new Random(seed);
+    DiGraph g = new DiGraph(n);
+    for (int i = 0; i < m; i++) {
+      g.addEdge(random.nextInt(n), random.nextInt(n));
+    }
+    return g;
+  }
+
+  /**
+   * Network with integer capacities below the given bound.
+   */
+  static EdgeWeightedDiGraph network(int n, int m, int capacity, long seed) {
+    Random random = new Random(seed);
+    EdgeWeightedDiGraph g = new EdgeWeightedDiGraph(n);
+    for (int i = 0; i < m; i++) {
+      g.addArc(new WeightedArc(random.nextInt(n), random.nextInt(n), random.nextInt(capacity)));
+    }
+    return g;
+  }
+}
@@ -0,0 +1,162 @@
+package graphapi;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import org.junit.Test;
+
+public class SimilarityTest {
+  private static final double EPSILON = 1e-9;
+
+  /**
+   * Sparse random graph on 4096 vertices with two hubs of degree 300, above
+   * the bitmap threshold of 128, and two vertices of degree 100 below it but
+   * more than 32 times the degree of most others.
+   */
+  private static Graph skewed() {
+    int n = 4096;
+    Graph g = RandomGraphs.graph(n, n, 1);
+    Random random = new Random(2);
+    for (int v = 0; v < 4; v++) {
+      int degree = v < 2 ? 300 : 100;
+      for (int i = 0; i < degree; i++) {
+        g.addEdge(v, 4 + random.nextInt(n - 4));
+      }
+    }
+    return g;
+  }
+
+  private static Set<Integer> neighbours(Graph g, int v) {
+    Set<Integer> set = new HashSet<>();
+    for (int w : g.adj(v)) {
+      if (w != v) {
+        set.add(w);
+      }
+    }
+    return set;
+  }
+
+  private static double reference(Similarity.Measure measure, Graph g, int u, int v) {
+    Set<Integer> nu = neighbours(g, u);
+    Set<Integer> nv = neighbours(g, v);
+    int common = 0;
+    double sum = 0;
+    for (int z : nu) {
+      if (nv.contains(z)) {
+        common++;
+        int dz = neighbours(g, z).size();
+        sum += dz > 1 ? 1 / Math.log(dz) : 0;
+      }
+    }
+
+    switch (measure) {
+      case COMMON_NEIGHBOURS:
+        return common;
+      case JACCARD:
+        int union = nu.size() + nv.size() - common;
+        return union == 0 ? 0 : (double) common / union;
+      default:
+        return sum;
+    }
+  }
+
+  /**
+   * Vertices other than u sharing a neighbour with it, by decreasing score and
+   * then increasing vertex.
+   */
+  private static List<Integer> ranking(Similarity.Measure measure, Graph g, int u) {
+    List<Integer> ranked = new ArrayList<>();
+    for (int w = 0; w < g.V(); w++) {
+      if (w != u && reference(Similarity.Measure.COMMON_NEIGHBOURS, g, u, w) > 0) {
+        ranked.add(w);
+      }
+    }
+    ranked.sort((a, b) -> {
+      int c = Double.compare(reference(measure, g, u, b), reference(measure, g, u, a));
+      return c != 0 ? c : Integer.compare(a, b);
+    });
+    return ranked;
+  }
+
+  @Test
+  public void scoresMatchSetIntersection() {
+    Graph g = skewed();
+    Similarity similarity = new Similarity(g);
+
+    // Hub pairs use the bitmaps, hub and sparse the bit probes, the degree 100
+    // vertices and sparse ones galloping, and sparse pairs the merge.
+    Random random = new Random(3);
+    int[] vertices = new int[40];
+    for (int i = 0; i < vertices.length; i++) {
+      vertices[i] = i < 4 ? i : random.nextInt(g.V());
+    }
+
+    List<Integer> pairs = new ArrayList<>();
+    for (int u : vertices) {
+      for (int v : vertices) {
+        pairs.add(u);
+        pairs.add(v);
+        assertEquals((int) reference(Similarity.Measure.COMMON_NEIGHBOURS, g, u, v),
+            similarity.commonNeighbours(u, v));
+        assertEquals(reference(Similarity.Measure.JACCARD, g, u, v), similarity.jaccard(u, v), EPSILON);
+        assertEquals(reference(Similarity.Measure.ADAMIC_ADAR, g, u, v), similarity.adamicAdar(u, v), EPSILON);
+      }
+    }
+
+    int[] flat = pairs.stream().mapToInt(Integer::intValue).toArray();
+    for (Similarity.Measure measure : Similarity.Measure.values()) {
+      double[] scores = similarity.scores(measure, flat);
+      for (int p = 0; p < scores.length; p++) {
+        assertEquals(similarity.score(measure, flat[2 * p], flat[2 * p + 1]), scores[p], 0);
+      }
+    }
+  }
+
+  @Test
+  public void topMatchesRanking() {
+    Graph g = RandomGraphs.graph(300, 900, 4);
+    for (int v = 0; v < 60; v++) {
+      g.addEdge(0, v);
+    }
+    Similarity similarity = new Similarity(g);
+
+    for (Similarity.Measure measure : Similarity.Measure.values()) {
+      for (int u = 0; u < 30; u++) {
+        List<Integer> ranked = ranking(measure, g, u);
+        for (int k : new int[] { 0, 1, 5, ranked.size(), ranked.size() + 10 }) {
+          int[] top = similarity.top(measure, u, k);
+          assertEquals(Math.min(k, ranked.size()), top.length);
+          for (int i = 0; i < top.length; i++) {
+            if (measure == Similarity.Measure.ADAMIC_ADAR) {
+              // Sums in another order can break ties differently.
+              assertEquals(reference(measure, g, u, ranked.get(i)), reference(measure, g, u, top[i]), EPSILON);
+            } else {
+              assertEquals((int) ranked.get(i), top[i]);
+            }
+          }
+        }
+      }
+    }
+  }
+
+  @Test
+  public void topBreaksTiesBySmallerVertex() {
+    Graph g = new Graph(6);
+    g.addEdge(0, 1);
+    g.addEdge(1, 4);
+    g.addEdge(1, 2);
+    g.addEdge(1, 3);
+    g.addEdge(5, 5);
+    Similarity similarity = new Similarity(g);
+
+    assertArrayEquals(new int[] { 2, 3 }, similarity.top(Similarity.Measure.COMMON_NEIGHBOURS, 0, 2));
+    assertArrayEquals(new int[] { 2, 3, 4 }, similarity.top(Similarity.Measure.COMMON_NEIGHBOURS, 0, 10));
+    assertArrayEquals(new int[0], similarity.top(Similarity.Measure.JACCARD, 0, 0));
+    assertArrayEquals(new int[0], similarity.top(Similarity.Measure.JACCARD, 5, 3));
+  }
+}
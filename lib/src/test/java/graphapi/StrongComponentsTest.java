@@ -0,0 +1,89 @@
+package graphapi;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Function;
+import org.junit.Test;
+
+public class StrongComponentsTest {
+  private static void assertReverseTopological(DiGraph g, StrongComponents scc) {
+    for (int v = 0; v < g.V(); v++) {
+      for (int w : g.adj(v)) {
+        assertTrue(scc.id(v) >= scc.id(w));
+      }
+    }
+  }
+
+  private static void assertSameClosure(DiGraph g, Reachability expected, Reachability actual) {
+    for (int v = 0; v < g.V(); v++) {
+      for (int w = 0; w < g.V(); w++) {
+        assertEquals(expected.reachable(v, w), actual.reachable(v, w));
+      }
+    }
+  }
+
+  @Test
+  public void parallelIdsFollowPath() {
+    DiGraph g = new DiGraph(3);
+    g.addEdge(0, 1);
+    g.addEdge(1, 2);
+
+    StrongComponents scc = ParallelStrongComponents.find(g);
+    assertEquals(3, scc.count());
+    assertReverseTopological(g, scc);
+
+    assertTrue(new BitsetClosure(scc).reachable(0, 2));
+    assertTrue(new GrailIndex(scc, 3, 42L).reachable(0, 2));
+    assertTrue(new IncrementalClosure(scc).reachable(0, 2));
+    assertFalse(new IncrementalClosure(scc).reachable(2, 0));
+  }
+
+  @Test
+  public void parallelIdsAreReverseTopological() {
+    for (long seed = 0; seed < 20; seed++) {
+      DiGraph g = RandomGraphs.digraph(60, 90, seed);
+      StrongComponents scc = ParallelStrongComponents.find(g);
+      assertEquals(new StrongComponents(g).count(), scc.count());
+      assertReverseTopological(g, scc);
+    }
+  }
+
+  @Test
+  public void closuresFromParallelComponentsMatchTarjan() {
+    for (long seed = 0; seed < 20; seed++) {
+      DiGraph g = RandomGraphs.digraph(50, 70, seed);
+      Reachability expected = new BitsetClosure(new StrongComponents(g));
+      StrongComponents scc = ParallelStrongComponents.find(g);
+
+      assertSameClosure(g, expected, new BitsetClosure(scc));
+      assertSameClosure(g, expected, new GrailIndex(scc, 3, seed));
+      assertSameClosure(g, expected, new IncrementalClosure(scc));
+    }
+  }
+
+  @Test
+  public void closuresRejectForwardIds() {
+    DiGraph g = new DiGraph(2);
+    g.addEdge(0, 1);
+    StrongComponents forward = new StrongComponents(CSR.of(g), new int[] { 0, 1 }, new int[] { 1, 1 });
+
+    List<Function<StrongComponents, Reachability>> closures = Arrays.asList(
+        BitsetClosure::new,
+        scc -> new GrailIndex(scc, 3, 42L),
+        IncrementalClosure::new);
+
+    for (Function<StrongComponents, Reachability> closure : closures) {
+      try {
+        closure.apply(forward);
+        fail();
+      } catch (IllegalArgumentException e) {
+        assertTrue(e.getMessage().contains("topological"));
+      }
+    }
+  }
+}
@@ -0,0 +1,39 @@
+package graphapi;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import org.junit.Test;
+
+public class TransitiveClosureTest {
+  @Test
+  public void addEdgeLeavesGraphUnchanged() {
+    DiGraph g = new DiGraph(3);
+    g.addEdge(0, 1);
+    TransitiveClosure closure = new TransitiveClosure(g);
+    assertFalse(closure.reachable(0, 2));
+
+    closure.addEdge(1, 2);
+    assertTrue(closure.reachable(0, 2));
+    assertFalse(closure.reachable(2, 0));
+    assertEquals(1, g.E());
+  }
+
+  @Test
+  public void suppliedIndexIsNotUpdated() {
+    DiGraph g = new DiGraph(3);
+    g.addEdge(0, 1);
+    IncrementalClosure index = new IncrementalClosure(g);
+    TransitiveClosure closure = new TransitiveClosure(g, index);
+
+    try {
+      closure.addEdge(1, 2);
+      fail();
+    } catch (UnsupportedOperationException e) {
+      assertFalse(index.reachable(0, 2));
+      assertFalse(closure.reachable(0, 2));
+    }
+  }
+}
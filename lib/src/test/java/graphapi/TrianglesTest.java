@@ -0,0 +1,95 @@
+package graphapi;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+import java.util.concurrent.ForkJoinPool;
+import org.junit.Test;
+
+public class TrianglesTest {
+  private static final double EPSILON = 1e-12;
+
+  /**
+   * Triangles through every vertex, counted over the pairs of its neighbours.
+   */
+  private static long[] reference(Graph g) {
+    long[] counts = new long[g.V()];
+    for (int v = 0; v < g.V(); v++) {
+      for (int a : g.adj(v)) {
+        for (int b : g.adj(v)) {
+          if (a != v && b != v && a < b && g.hasEdge(a, b)) {
+            counts[v]++;
+          }
+        }
+      }
+    }
+    return counts;
+  }
+
+  private static void assertCounts(Graph g, Triangles triangles) {
+    long[] expected = reference(g);
+    long total = 0;
+    for (long c : expected) {
+      total += c;
+    }
+    assertArrayEquals(expected, triangles.counts());
+    assertEquals(total / 3, triangles.count());
+  }
+
+  @Test
+  public void countRandomGraphs() {
+    ForkJoinPool pool = new ForkJoinPool(4);
+    try {
+      for (long seed = 0; seed < 40; seed++) {
+        int n = 10 + (int) seed;
+        Graph g = RandomGraphs.graph(n, (int) (seed % 5 + 1) * n, seed);
+        assertCounts(g, new Triangles(CSR.of(g), pool));
+        assertCounts(g, new Triangles(g));
+      }
+    } finally {
+      pool.shutdown();
+    }
+  }
+
+  @Test
+  public void countHubWithSparseNeighbours() {
+    // Vertex 0 is joined to a chain of 100 vertices that each also hold 100
+    // leaves, so 0 keeps all 100 of them in its oriented row while each of
+    // them keeps at most two, and their rows are galloped through.
+    int hubs = 100;
+    Graph g = new Graph(1 + hubs + hubs * hubs);
+    int leaf = 1 + hubs;
+    for (int v = 1; v <= hubs; v++) {
+      g.addEdge(0, v);
+      if (v < hubs) {
+        g.addEdge(v, v + 1);
+      }
+      for (int i = 0; i < hubs; i++) {
+        g.addEdge(v, leaf++);
+      }
+    }
+
+    Triangles triangles = new Triangles(g);
+    assertCounts(g, triangles);
+    assertEquals(hubs - 1, triangles.count());
+  }
+
+  @Test
+  public void clusterTriangleWithTail() {
+    Graph g = new Graph(5);
+    g.addEdge(0, 1);
+    g.addEdge(1, 2);
+    g.addEdge(2, 0);
+    g.addEdge(2, 3);
+    g.addEdge(3, 3);
+
+    Triangles triangles = new Triangles(g);
+    assertEquals(1, triangles.count());
+    assertEquals(1, triangles.clustering(0), EPSILON);
+    assertEquals(1.0 / 3, triangles.clustering(2), EPSILON);
+    assertEquals(0, triangles.clustering(3), EPSILON);
+    assertEquals(0, triangles.clustering(4), EPSILON);
+    assertEquals((2 + 1.0 / 3) / 5, triangles.averageClustering(), EPSILON);
+    assertEquals(3.0 / 5, triangles.transitivity(), EPSILON);
+  }
+}